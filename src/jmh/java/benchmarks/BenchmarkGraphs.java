@@ -0,0 +1,87 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import generators.ComponentChainGenerator;
+import generators.CompleteGraphGenerator;
+import generators.ErdosRenyiGenerator;
+import generators.GraphGenerator;
+import generators.PreferentialAttachmentGenerator;
+import generators.RingOfRingsGenerator;
+
+/**
+ * Edge lists for the benchmarks, by name<br>
+ * Names ending in .txt are files in testGraphs/, the others are seeded
+ * synthetic Graphs with n Vertices:
+ * <ul>
+ * <li>random-n: G(n, p) with 4 Edges per Vertex on average</li>
+ * <li>powerlaw-n: preferential attachment with 2 Edges per Vertex</li>
+ * <li>complete-n: complete Graph K_n</li>
+ * <li>chain-n: rings of 4 Vertices chained into a DAG</li>
+ * <li>rings-n: rings of 8 Vertices connected into a large ring</li>
+ * <li>hub-n: Vertex n-1 with an Edge to and from each of the others</li>
+ * </ul>
+ */
+final class BenchmarkGraphs {
+
+	static final String BASE_PATH = "testGraphs/";
+
+	private static final double EDGES_PER_VERTEX = 4;
+	private static final long SEED = 42;
+
+	private BenchmarkGraphs() {
+	}
+
+	/**
+	 * Creates the Edge list of a Graph
+	 * 
+	 * @param name of the Graph
+	 * @return Edges in the format {from, to}
+	 * @throws IOException if a file of testGraphs/ can't be read
+	 */
+	static String edges(String name) throws IOException {
+
+		if (name.endsWith(".txt"))
+			return Files.readString(Paths.get(BASE_PATH + name));
+
+		StringBuilder edges = new StringBuilder();
+		generator(name).write(edges);
+		return edges.toString();
+	}
+
+	/**
+	 * Selects the generator of a synthetic Graph
+	 * 
+	 * @param name of the Graph
+	 * @return generator
+	 */
+	static GraphGenerator generator(String name) {
+
+		int vertexCount = Integer.parseInt(name.substring(name.indexOf('-') + 1));
+
+		switch (name.substring(0, name.indexOf('-'))) {
+		case "random":
+			return new ErdosRenyiGenerator(vertexCount, EDGES_PER_VERTEX / vertexCount, SEED);
+		case "powerlaw":
+			return new PreferentialAttachmentGenerator(vertexCount, 2, SEED);
+		case "complete":
+			return new CompleteGraphGenerator(vertexCount);
+		case "chain":
+			return new ComponentChainGenerator(vertexCount / 4, 4);
+		case "rings":
+			return new RingOfRingsGenerator(vertexCount / 8, 8);
+		case "hub":
+			return handler -> {
+				for (int leaf = 0; leaf < vertexCount - 1; leaf++) {
+					handler.edge(vertexCount - 1, leaf);
+					handler.edge(leaf, vertexCount - 1);
+				}
+			};
+		default:
+			throw new IllegalArgumentException("Unknown benchmark graph " + name);
+		}
+	}
+
+}
@@ -0,0 +1,95 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import graphs.CompactGraph;
+import graphs.DirectedGraph;
+
+/**
+ * Parsing Edge lists from Strings and files, and mapping snapshot files
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GraphLoadingBenchmark {
+
+	@Param({ "kube.txt", "random-10000", "random-100000" })
+	public String graph;
+
+	private String edges;
+	private Path file;
+	private Path snapshot;
+
+	@Setup
+	public void setUp() throws IOException {
+		edges = BenchmarkGraphs.edges(graph);
+		file = Files.createTempFile("benchmark", ".txt");
+		Files.writeString(file, edges);
+		snapshot = Files.createTempFile("benchmark", ".cgr");
+		CompactGraph.fromString(edges).writeSnapshot(snapshot.toString());
+	}
+
+	/**
+	 * Releases the mappings of the loaded snapshots, which only the garbage
+	 * collector does
+	 */
+	@TearDown(Level.Iteration)
+	public void collectMappings() {
+		System.gc();
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(file);
+		Files.deleteIfExists(snapshot);
+	}
+
+	@Benchmark
+	public DirectedGraph<Integer> fromString() {
+		return DirectedGraph.fromString(edges);
+	}
+
+	@Benchmark
+	public DirectedGraph<Integer> fromFile() throws IOException {
+		return DirectedGraph.fromFile(file.toString());
+	}
+
+	@Benchmark
+	public CompactGraph compactFromFile() throws IOException {
+		return CompactGraph.fromFile(file.toString());
+	}
+
+	/**
+	 * Mapping a snapshot hardly allocates on the heap, so the mappings would pile
+	 * up until the system runs out of them, each iteration is a batch of loads
+	 * instead
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@Warmup(iterations = 3, batchSize = 1000)
+	@Measurement(iterations = 5, batchSize = 1000)
+	public CompactGraph compactFromSnapshot() throws IOException {
+		return CompactGraph.fromSnapshot(snapshot.toString());
+	}
+
+}
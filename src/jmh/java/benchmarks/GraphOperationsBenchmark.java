@@ -0,0 +1,130 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import algo.Kosarajus;
+import algo.Tarjan;
+import algo.StronglyConnectedComponents;
+import graphs.CompactGraph;
+import graphs.DirectedGraph;
+
+/**
+ * Copying, reversing, taking apart and splitting Graphs into their strongly
+ * connected components<br>
+ * The recursive Kosarajus needs a larger thread stack on the random Graphs
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xss256m")
+public class GraphOperationsBenchmark {
+
+	// count of Vertices removeVertices drops from every copy
+	private static final int REMOVED_VERTICES = 1000;
+
+	@Param({ "kube.txt", "random-10000", "random-100000", "powerlaw-100000", "chain-100000", "hub-100000" })
+	public String graph;
+
+	private DirectedGraph<Integer> directedGraph;
+	private CompactGraph compactGraph;
+	private Set<Integer> evenIds;
+	private int[] lowestIds;
+
+	/**
+	 * Fresh copy of the Graph for every call of removeVertices, with or without
+	 * the incoming-edge index
+	 */
+	@State(Scope.Thread)
+	public static class Removal {
+
+		@Param({ "true", "false" })
+		public boolean indexed;
+
+		private DirectedGraph<Integer> graph;
+
+		@Setup(Level.Invocation)
+		public void setUp(GraphOperationsBenchmark benchmark) {
+			graph = benchmark.directedGraph.clone();
+			if (indexed)
+				graph.enableIncomingIndex();
+		}
+
+	}
+
+	@Setup
+	public void setUp() throws IOException {
+		directedGraph = DirectedGraph.fromString(BenchmarkGraphs.edges(graph));
+		compactGraph = CompactGraph.fromGraph(directedGraph);
+		evenIds = directedGraph.getAllVertices().stream()
+				.map(vertex -> vertex.getId())
+				.filter(id -> id % 2 == 0)
+				.collect(Collectors.toSet());
+		lowestIds = directedGraph.getAllVertices().stream()
+				.mapToInt(vertex -> vertex.getId())
+				.sorted()
+				.limit(REMOVED_VERTICES)
+				.toArray();
+	}
+
+	@Benchmark
+	public DirectedGraph<Integer> cloneGraph() {
+		return directedGraph.clone();
+	}
+
+	@Benchmark
+	public DirectedGraph<Integer> getReversed() {
+		return directedGraph.getReversed();
+	}
+
+	@Benchmark
+	public DirectedGraph<Integer> getSubGraph() {
+		return directedGraph.getSubGraph(evenIds);
+	}
+
+	/**
+	 * Outer loop of Johnson on a DirectedGraph, which drops every start Vertex
+	 * once its cycles are found, here for the lowest ids. On hub-n these are
+	 * leaves of the hub
+	 */
+	@Benchmark
+	public int removeVertices(Removal removal) {
+		for (int id : lowestIds)
+			removal.graph.removeVertex(id);
+		return removal.graph.getVertexCount();
+	}
+
+	@Benchmark
+	public List<DirectedGraph<Integer>> kosarajus() {
+		return new Kosarajus<Integer>().getStronglyConnectedComponents(directedGraph);
+	}
+
+	@Benchmark
+	public List<CompactGraph> compactKosarajus() {
+		return new Kosarajus<Integer>().getStronglyConnectedComponents(compactGraph);
+	}
+
+	@Benchmark
+	public StronglyConnectedComponents compactTarjan() {
+		return new Tarjan().getStronglyConnectedComponents(compactGraph);
+	}
+
+}
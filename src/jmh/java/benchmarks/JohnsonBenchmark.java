@@ -0,0 +1,87 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import algo.Johnson;
+import graphs.CompactGraph;
+import graphs.DirectedGraph;
+
+/**
+ * Enumerating simple cycles<br>
+ * The compact search runs on a Graph built on the heap and on the same Graph
+ * mapped from a snapshot file. Only the snapshot benchmark loads the snapshot,
+ * so the heap one runs without a second CompactGraph implementation
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JohnsonBenchmark {
+
+	@Param({ "presentation.txt", "kube.txt", "complete-7", "complete-8", "chain-100000", "rings-100000" })
+	public String graph;
+
+	private DirectedGraph<Integer> directedGraph;
+	private CompactGraph compactGraph;
+
+	/**
+	 * The Graph mapped from a snapshot file, the mapping outlives the file
+	 */
+	@State(Scope.Benchmark)
+	public static class Snapshot {
+
+		private CompactGraph graph;
+
+		@Setup
+		public void setUp(JohnsonBenchmark benchmark) throws IOException {
+			Path snapshot = Files.createTempFile("johnson", ".cgr");
+			try {
+				benchmark.compactGraph.writeSnapshot(snapshot.toString());
+				graph = CompactGraph.fromSnapshot(snapshot.toString());
+			} finally {
+				Files.delete(snapshot);
+			}
+		}
+
+	}
+
+	@Setup
+	public void setUp() throws IOException {
+		directedGraph = DirectedGraph.fromString(BenchmarkGraphs.edges(graph));
+		compactGraph = CompactGraph.fromGraph(directedGraph);
+	}
+
+	@Benchmark
+	public List<DirectedGraph<Integer>> getSimpleCycles() {
+		return new Johnson<Integer>().getSimpleCycles(directedGraph);
+	}
+
+	@Benchmark
+	public long countSimpleCycles() {
+		return new Johnson<Integer>().countSimpleCycles(compactGraph);
+	}
+
+	@Benchmark
+	public long countSimpleCyclesFromSnapshot(Snapshot snapshot) {
+		return new Johnson<Integer>().countSimpleCycles(snapshot.graph);
+	}
+
+}
@@ -0,0 +1,20 @@
+package algo;
+
+/**
+ * Receives the simple cycles found by {@link Johnson} one at a time
+ */
+@FunctionalInterface
+public interface CycleConsumer {
+
+	/**
+	 * Handles a found cycle<br>
+	 * The array is reused for the following cycles, copy it to keep the cycle
+	 * 
+	 * @param cycle  Vertex ids in order of the cycle, starting with the smallest
+	 *               id
+	 * @param length count of Vertices in the cycle
+	 * @return true to continue the search, false to stop it
+	 */
+	boolean accept(int[] cycle, int length);
+
+}
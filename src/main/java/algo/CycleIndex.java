@@ -0,0 +1,267 @@
+package algo;
+
+import java.util.Arrays;
+
+import graphs.Hashing;
+
+/**
+ * Deduplicated set of simple cycles in canonical form<br>
+ * A cycle is canonical if it is rotated so its least Vertex id comes first.
+ * Every cycle is hashed to a 64-bit fingerprint, which doesn't depend on the
+ * rotation, and stored once in a {@link CycleSet}. An open addressing table of
+ * the fingerprints finds a cycle in constant time, so membership checks and
+ * differences of large result sets don't compare cycles pairwise.<br>
+ * Can be handed to a search as {@link CycleConsumer} directly. Adding is
+ * thread-safe, reading while cycles are added isn't
+ */
+public class CycleIndex implements CycleConsumer {
+
+	// canonical cycles in order of insertion
+	private final CycleSet cycles = new CycleSet();
+	// fingerprints and cycle index + 1 of the table, 0 marks a free slot
+	private long[] fingerprints = new long[16];
+	private int[] entries = new int[16];
+
+	/**
+	 * Creates an index of all cycles in a set
+	 *
+	 * @param cycles to index
+	 * @return index without duplicates
+	 */
+	public static CycleIndex of(CycleSet cycles) {
+		CycleIndex index = new CycleIndex();
+		cycles.forEachCycle(index);
+		return index;
+	}
+
+	/**
+	 * Rotates a cycle in place, so its least Vertex id comes first
+	 *
+	 * @param cycle  Vertex ids in order of the cycle
+	 * @param length count of Vertices in the cycle
+	 */
+	public static void canonicalize(int[] cycle, int length) {
+		int first = minPosition(cycle, length);
+		if (first == 0)
+			return;
+		// rotating by three reversals needs no buffer
+		reverse(cycle, 0, first);
+		reverse(cycle, first, length);
+		reverse(cycle, 0, length);
+	}
+
+	/**
+	 * Hashes the canonical form of a cycle<br>
+	 * All rotations of a cycle have the same fingerprint, and it stays the same
+	 * across runs, so it can be stored and compared elsewhere
+	 *
+	 * @param cycle  Vertex ids in order of the cycle
+	 * @param length count of Vertices in the cycle
+	 * @return 64-bit fingerprint
+	 */
+	public static long fingerprint(int[] cycle, int length) {
+		int first = minPosition(cycle, length);
+		long hash = length * Hashing.GOLDEN_GAMMA;
+		for (int i = 0; i < length; i++) {
+			int id = cycle[first + i < length ? first + i : first + i - length];
+			hash = Hashing.mix(hash + (id & 0xFFFFFFFFL) + Hashing.GOLDEN_GAMMA);
+		}
+		return hash;
+	}
+
+	/**
+	 * Adds a cycle if it isn't part of the index yet
+	 *
+	 * @param cycle  Vertex ids in order of the cycle
+	 * @param length count of Vertices in the cycle
+	 * @return always true, to continue a search
+	 */
+	@Override
+	public boolean accept(int[] cycle, int length) {
+		add(cycle, length);
+		return true;
+	}
+
+	/**
+	 * Adds a cycle in canonical form if it isn't part of the index yet
+	 *
+	 * @param cycle  Vertex ids in order of the cycle, isn't changed
+	 * @param length count of Vertices in the cycle
+	 * @return true if the cycle has been added, false if it was already there
+	 */
+	public synchronized boolean add(int[] cycle, int length) {
+		long fingerprint = fingerprint(cycle, length);
+		int slot = find(fingerprint, cycle, length);
+		if (entries[slot] != 0)
+			return false;
+
+		int[] canonical = Arrays.copyOf(cycle, length);
+		canonicalize(canonical, length);
+		cycles.add(canonical, length);
+		fingerprints[slot] = fingerprint;
+		entries[slot] = cycles.size();
+
+		if (cycles.size() * 2 > entries.length)
+			resize();
+		return true;
+	}
+
+	/**
+	 * Checks if a cycle is part of the index, in any rotation
+	 *
+	 * @param cycle  Vertex ids in order of the cycle
+	 * @param length count of Vertices in the cycle
+	 * @return true if the cycle is part of the index
+	 */
+	public boolean contains(int[] cycle, int length) {
+		return entries[find(fingerprint(cycle, length), cycle, length)] != 0;
+	}
+
+	/**
+	 * @return count of distinct cycles
+	 */
+	public int size() {
+		return cycles.size();
+	}
+
+	/**
+	 * @return canonical cycles in order of insertion
+	 */
+	public CycleSet getCycles() {
+		return cycles;
+	}
+
+	/**
+	 * Collects the cycles of this index, which aren't part of another one
+	 *
+	 * @param other index of cycles to leave out
+	 * @return new index of the remaining cycles, in order of insertion
+	 */
+	public CycleIndex difference(CycleIndex other) {
+		CycleIndex difference = new CycleIndex();
+		cycles.forEachCycle((cycle, length) -> {
+			if (!other.contains(cycle, length))
+				difference.add(cycle, length);
+			return true;
+		});
+		return difference;
+	}
+
+	/**
+	 * Sorts the canonical cycles lexicographically by their Vertex ids, shorter
+	 * cycles before longer ones with the same beginning<br>
+	 * The order only depends on the cycles, not on the order they were found in,
+	 * so outputs of different runs can be compared line by line
+	 *
+	 * @return new set of the sorted cycles
+	 */
+	public CycleSet toSortedSet() {
+		int[] order = new int[cycles.size()];
+		for (int i = 0; i < order.length; i++)
+			order[i] = i;
+		sort(order);
+
+		CycleSet sorted = new CycleSet();
+		int[] cycle = new int[cycles.getMaxLength()];
+		for (int index : order)
+			sorted.add(cycle, cycles.copy(index, cycle));
+		return sorted;
+	}
+
+	/**
+	 * Sorts cycle indices by their cycles with a bottom-up merge sort, so no
+	 * index is boxed
+	 *
+	 * @param order indices of the stored cycles, sorted in place
+	 */
+	private void sort(int[] order) {
+		int[] source = order;
+		int[] target = new int[order.length];
+		for (int width = 1; width < order.length; width *= 2) {
+			for (int from = 0; from < order.length; from += 2 * width) {
+				int middle = Math.min(from + width, order.length);
+				int to = Math.min(from + 2 * width, order.length);
+				int left = from;
+				int right = middle;
+				for (int i = from; i < to; i++) {
+					if (left < middle && (right == to || cycles.compare(source[left], source[right]) <= 0))
+						target[i] = source[left++];
+					else
+						target[i] = source[right++];
+				}
+			}
+			int[] merged = target;
+			target = source;
+			source = merged;
+		}
+		if (source != order)
+			System.arraycopy(source, 0, order, 0, order.length);
+	}
+
+	/**
+	 * Finds the slot of a cycle in the table
+	 *
+	 * @param fingerprint of the cycle
+	 * @param cycle       Vertex ids in order of the cycle
+	 * @param length      count of Vertices in the cycle
+	 * @return slot of the cycle or the free slot to put it in
+	 */
+	private int find(long fingerprint, int[] cycle, int length) {
+		int first = minPosition(cycle, length);
+		int mask = entries.length - 1;
+		for (int slot = (int) fingerprint & mask;; slot = (slot + 1) & mask) {
+			// equal fingerprints are confirmed, so collisions can't merge cycles
+			if (entries[slot] == 0 || fingerprints[slot] == fingerprint
+					&& cycles.matches(entries[slot] - 1, cycle, first, length))
+				return slot;
+		}
+	}
+
+	/**
+	 * Doubles the table and reinserts all fingerprints
+	 */
+	private void resize() {
+		long[] oldFingerprints = fingerprints;
+		int[] oldEntries = entries;
+		fingerprints = new long[oldEntries.length * 2];
+		entries = new int[oldEntries.length * 2];
+		int mask = entries.length - 1;
+		for (int i = 0; i < oldEntries.length; i++) {
+			if (oldEntries[i] == 0)
+				continue;
+			int slot = (int) oldFingerprints[i] & mask;
+			while (entries[slot] != 0)
+				slot = (slot + 1) & mask;
+			fingerprints[slot] = oldFingerprints[i];
+			entries[slot] = oldEntries[i];
+		}
+	}
+
+	/**
+	 * @param values to reverse in place
+	 * @param from   first position of the range
+	 * @param to     position after the range
+	 */
+	private static void reverse(int[] values, int from, int to) {
+		for (int i = from, j = to - 1; i < j; i++, j--) {
+			int value = values[i];
+			values[i] = values[j];
+			values[j] = value;
+		}
+	}
+
+	/**
+	 * @param cycle  Vertex ids in order of the cycle
+	 * @param length count of Vertices in the cycle
+	 * @return position of the least id
+	 */
+	private static int minPosition(int[] cycle, int length) {
+		int first = 0;
+		for (int i = 1; i < length; i++) {
+			if (cycle[i] < cycle[first])
+				first = i;
+		}
+		return first;
+	}
+
+}
@@ -0,0 +1,415 @@
+package algo;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import graphs.CompactGraph;
+
+/**
+ * Johnson's circuit search on a strongly connected component in compact
+ * form<br>
+ * Every start Vertex is the least Vertex of a cyclic component of the Subgraph
+ * induced by the Vertices with a higher or equal index, and the search is
+ * restricted to that component.<br>
+ * If the length of the cycles is bounded, the blocked set is replaced by the
+ * locks of the bounded-length search by Gupta and Suzumura: a Vertex is only
+ * visited again on a path short enough to still reach the start Vertex in
+ * time.<br>
+ * The depth search keeps its own frames and unblocking uses a worklist, so the
+ * search can be paused after every found cycle and resumed with
+ * {@link #next()}, and the thread stack doesn't limit the size of a component
+ */
+class CycleSearch {
+
+	// closing length of a frame, which hasn't found a cycle yet
+	private static final int NONE = Integer.MAX_VALUE;
+
+	private final CompactGraph graph;
+	private final int maxLength;
+	private final boolean bounded;
+	// counts visits and scanned Edges, fixed so unmeasured searches skip it
+	private final boolean measured;
+
+	// blocked set as bitset over the Vertex indices, only the Vertices on the
+	// stack in a bounded search
+	private final long[] blocked;
+	// least path length from the start, on which a Vertex may be visited again,
+	// only used in a bounded search
+	private final int[] locks;
+	// blocked map as intrusive lists over the Edges: an Edge v -> w in the list
+	// of w means v waits for w, -1 ends a list and -2 marks an Edge not in a list
+	private final int[] blockedMapHeads;
+	private final int[] blockedMapNext;
+	private final int[] blockedMapSources;
+
+	// components of the Subgraph above the previous start Vertex
+	private final Tarjan tarjan;
+	private final int[] componentOf;
+	private final int[] componentSize;
+	private int component;
+	private final int[] members;
+	private int memberCount;
+
+	// frames of the depth search: Vertex, next Edge and the length of the
+	// shortest path back to the start Vertex, NONE if no cycle was found
+	private final int[] stack;
+	private final int[] cursors;
+	private final int[] closingLengths;
+	private int stackSize;
+	private int startIndex;
+
+	// pending Vertices of an unblock cascade or lock relaxation
+	private final int[] unblockStack;
+	private final int[] relaxLengths;
+
+	// Vertex ids of the last found cycle
+	private final int[] cycle;
+	private int cycleLength;
+
+	// counters since the last call of takeStatistics, only if measured
+	private long verticesVisited;
+	private long edgesScanned;
+	private long unblockCascades;
+	private long cyclesEmitted;
+	private int maxStackDepth;
+
+	/**
+	 * Creates a new search on a strongly connected component
+	 *
+	 * @param graph     component to search
+	 * @param maxLength maximum count of Vertices in a cycle, Integer.MAX_VALUE
+	 *                  for no limit
+	 * @param measured  true to count the work of the search for
+	 *                  {@link #takeStatistics()}
+	 */
+	CycleSearch(CompactGraph graph, int maxLength, boolean measured) {
+		int vertexCount = graph.getVertexCount();
+		this.graph = graph;
+		this.maxLength = maxLength;
+		this.bounded = maxLength < vertexCount;
+		this.measured = measured;
+		this.blocked = new long[(vertexCount + 63) >>> 6];
+		this.locks = bounded ? new int[vertexCount] : null;
+		this.relaxLengths = bounded ? new int[vertexCount] : null;
+		if (bounded)
+			Arrays.fill(locks, NONE);
+		this.blockedMapHeads = new int[vertexCount];
+		this.blockedMapNext = new int[graph.getEdgeCount()];
+		this.blockedMapSources = new int[graph.getEdgeCount()];
+		Arrays.fill(blockedMapHeads, -1);
+		Arrays.fill(blockedMapNext, -2);
+		this.tarjan = new Tarjan();
+		this.componentOf = new int[vertexCount];
+		this.componentSize = new int[vertexCount];
+		this.members = new int[vertexCount];
+		this.stack = new int[vertexCount];
+		this.cursors = new int[vertexCount];
+		this.closingLengths = new int[vertexCount];
+		this.unblockStack = new int[vertexCount];
+		this.cycle = new int[vertexCount];
+	}
+
+	/**
+	 * Prepares the search for all cycles through the next start Vertex<br>
+	 * The start Vertex is the least Vertex from the given index on, which lies
+	 * in a cyclic component of the Subgraph induced by the Vertices from that
+	 * Vertex on. Vertices, which can't lie on a cycle through it, are skipped.
+	 *
+	 * @param from least index to start from
+	 * @return index of the start Vertex or -1 if there are no more cycles
+	 */
+	int begin(int from) {
+
+		// reset the Vertices of the previous component
+		for (int i = 0; i < memberCount; i++) {
+			int vertex = members[i];
+			blocked[vertex >>> 6] &= ~(1L << vertex);
+			for (int edge = blockedMapHeads[vertex]; edge >= 0;) {
+				int nextEdge = blockedMapNext[edge];
+				blockedMapNext[edge] = -2;
+				edge = nextEdge;
+			}
+			blockedMapHeads[vertex] = -1;
+			if (bounded)
+				locks[vertex] = NONE;
+		}
+		memberCount = 0;
+		stackSize = 0;
+
+		int vertexCount = graph.getVertexCount();
+		int componentCount = tarjan.findComponents(graph, from, componentOf);
+
+		for (int i = 0; i < componentCount; i++)
+			componentSize[i] = 0;
+		for (int vertex = from; vertex < vertexCount; vertex++)
+			componentSize[componentOf[vertex]]++;
+
+		// least Vertex in a cyclic component
+		startIndex = -1;
+		for (int vertex = from; vertex < vertexCount && startIndex < 0; vertex++) {
+			if (componentSize[componentOf[vertex]] > 1 || graph.hasEdge(vertex, vertex))
+				startIndex = vertex;
+		}
+		if (startIndex < 0)
+			return -1;
+
+		component = componentOf[startIndex];
+		for (int vertex = startIndex; vertex < vertexCount; vertex++) {
+			if (componentOf[vertex] == component)
+				members[memberCount++] = vertex;
+		}
+
+		push(startIndex);
+		return startIndex;
+	}
+
+	/**
+	 * Continues the depth search until the next cycle has been found
+	 *
+	 * @return true if a cycle has been found, false if there are no more cycles
+	 *         through the start Vertex
+	 */
+	boolean next() {
+
+		while (stackSize > 0) {
+
+			int top = stackSize - 1;
+			int vertex = stack[top];
+
+			// the Vertex at position top is top Edges away from the start Vertex
+			if (top < maxLength && cursors[top] < graph.getEdgeEnd(vertex)) {
+				int neighbour = graph.getTarget(cursors[top]++);
+				if (measured)
+					edgesScanned++;
+				if (neighbour == startIndex) {
+					closingLengths[top] = 1;
+					saveCurrentStack();
+					return true;
+				} else if (inComponent(neighbour) && canVisit(neighbour, top + 1)) {
+					push(neighbour);
+				}
+				continue;
+			}
+
+			stackSize--;
+
+			int closingLength = closingLengths[top];
+			if (closingLength != NONE) {
+				if (bounded)
+					relaxLocks(vertex, closingLength);
+				else
+					unblock(vertex);
+				if (top > 0 && closingLength + 1 < closingLengths[top - 1])
+					closingLengths[top - 1] = closingLength + 1;
+			}
+			if (closingLength == NONE || bounded) {
+				// if any neighbour gets unblocked or its lock relaxed, this node should follow
+				for (int edge = graph.getEdgeStart(vertex); edge < graph.getEdgeEnd(vertex); edge++) {
+					int neighbour = graph.getTarget(edge);
+					if (inComponent(neighbour) && blockedMapNext[edge] == -2) {
+						blockedMapSources[edge] = vertex;
+						blockedMapNext[edge] = blockedMapHeads[neighbour];
+						blockedMapHeads[neighbour] = edge;
+					}
+				}
+			}
+
+			// a bounded search only blocks the Vertices on the stack
+			if (bounded)
+				blocked[vertex >>> 6] &= ~(1L << vertex);
+		}
+
+		return false;
+
+	}
+
+	/**
+	 * Hands all cycles through a range of start Vertices over to the consumer
+	 *
+	 * @param from     first start index
+	 * @param to       index after the last start
+	 * @param consumer receives the cycles
+	 * @param stopped  set as soon as the search should end, null if only the
+	 *                 consumer can stop it
+	 * @param listener receives the measurements of every start Vertex, null to
+	 *                 report nothing, must be null if the search isn't measured
+	 * @param total    sums up the counters of all start Vertices, null if the
+	 *                 listener is null
+	 * @return false if the search has been stopped
+	 */
+	boolean searchRange(int from, int to, CycleConsumer consumer, AtomicBoolean stopped, MetricsListener listener,
+			SearchStatistics total) {
+		for (int start = begin(from); start >= 0 && start < to; start = begin(start + 1)) {
+			if (stopped != null && stopped.get())
+				return false;
+			long startTime = listener == null ? 0 : System.nanoTime();
+			boolean completed = true;
+			while (completed && next())
+				completed = consumer.accept(cycle, cycleLength);
+			if (listener != null) {
+				SearchStatistics statistics = takeStatistics();
+				total.add(statistics);
+				listener.startVertexSearched(graph.getId(start), statistics, System.nanoTime() - startTime);
+			}
+			if (!completed)
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the counters of the search since the last call and resets them
+	 *
+	 * @return counters of the search, all zero if the search isn't measured
+	 */
+	SearchStatistics takeStatistics() {
+		SearchStatistics statistics = new SearchStatistics(verticesVisited, edgesScanned, unblockCascades,
+				cyclesEmitted, maxStackDepth);
+		verticesVisited = 0;
+		edgesScanned = 0;
+		unblockCascades = 0;
+		cyclesEmitted = 0;
+		maxStackDepth = 0;
+		return statistics;
+	}
+
+	/**
+	 * @return Vertex ids of the last found cycle, overwritten by the next one
+	 */
+	int[] getCycle() {
+		return cycle;
+	}
+
+	/**
+	 * @return count of Vertices in the last found cycle
+	 */
+	int getCycleLength() {
+		return cycleLength;
+	}
+
+	/**
+	 * Checks if a Vertex belongs to the component of the start Vertex<br>
+	 * Entries of componentOf below the start Vertex may be left over from
+	 * previous starts
+	 *
+	 * @param vertex index of the Vertex
+	 * @return true if the Vertex may be visited
+	 */
+	private boolean inComponent(int vertex) {
+		return vertex >= startIndex && componentOf[vertex] == component;
+	}
+
+	/**
+	 * Checks if a Vertex may be pushed onto the stack
+	 *
+	 * @param vertex     index of the Vertex
+	 * @param pathLength count of Edges from the start Vertex to the Vertex
+	 * @return true if the Vertex isn't blocked or locked for the path length
+	 */
+	private boolean canVisit(int vertex, int pathLength) {
+		return bounded ? pathLength < locks[vertex] : !isBlocked(vertex);
+	}
+
+	/**
+	 * @param vertex index of the Vertex
+	 * @return true if the Vertex is in the blocked set
+	 */
+	private boolean isBlocked(int vertex) {
+		return (blocked[vertex >>> 6] & (1L << vertex)) != 0;
+	}
+
+	/**
+	 * Opens a new frame for the Vertex and blocks it
+	 *
+	 * @param vertex index of the Vertex
+	 */
+	private void push(int vertex) {
+		stack[stackSize] = vertex;
+		cursors[stackSize] = graph.getEdgeStart(vertex);
+		closingLengths[stackSize] = NONE;
+		if (bounded)
+			locks[vertex] = stackSize;
+		stackSize++;
+		blocked[vertex >>> 6] |= 1L << vertex;
+		if (measured) {
+			verticesVisited++;
+			if (stackSize > maxStackDepth)
+				maxStackDepth = stackSize;
+		}
+	}
+
+	/**
+	 * Removes the Vertex and every Vertex waiting for it from the blocked set and
+	 * map, using a worklist instead of recursion
+	 *
+	 * @param vertex
+	 */
+	private void unblock(int vertex) {
+		if (measured)
+			unblockCascades++;
+		int size = 0;
+		blocked[vertex >>> 6] &= ~(1L << vertex);
+		unblockStack[size++] = vertex;
+		while (size > 0) {
+			int current = unblockStack[--size];
+			int edge = blockedMapHeads[current];
+			blockedMapHeads[current] = -1;
+			while (edge >= 0) {
+				int waitingVertex = blockedMapSources[edge];
+				int nextEdge = blockedMapNext[edge];
+				blockedMapNext[edge] = -2;
+				if (isBlocked(waitingVertex)) {
+					blocked[waitingVertex >>> 6] &= ~(1L << waitingVertex);
+					unblockStack[size++] = waitingVertex;
+				}
+				edge = nextEdge;
+			}
+		}
+	}
+
+	/**
+	 * Raises the lock of a Vertex, which has a path of the given length back to
+	 * the start Vertex, and of every Vertex waiting for it and not on the
+	 * stack<br>
+	 * Walks the blocked map breadth first, so every Vertex is reached over its
+	 * shortest path first and queued at most once
+	 *
+	 * @param vertex        index of the Vertex
+	 * @param closingLength count of Edges from the Vertex back to the start
+	 */
+	private void relaxLocks(int vertex, int closingLength) {
+		if (locks[vertex] >= maxLength - closingLength + 1)
+			return;
+		if (measured)
+			unblockCascades++;
+		locks[vertex] = maxLength - closingLength + 1;
+		int head = 0;
+		int tail = 0;
+		unblockStack[tail] = vertex;
+		relaxLengths[tail++] = closingLength;
+		while (head < tail) {
+			int current = unblockStack[head];
+			int waitingLength = relaxLengths[head++] + 1;
+			for (int edge = blockedMapHeads[current]; edge >= 0; edge = blockedMapNext[edge]) {
+				int waitingVertex = blockedMapSources[edge];
+				if (!isBlocked(waitingVertex) && locks[waitingVertex] < maxLength - waitingLength + 1) {
+					locks[waitingVertex] = maxLength - waitingLength + 1;
+					unblockStack[tail] = waitingVertex;
+					relaxLengths[tail++] = waitingLength;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Copies the Vertex ids on the stack into the cycle buffer
+	 */
+	private void saveCurrentStack() {
+		for (int i = 0; i < stackSize; i++)
+			cycle[i] = graph.getId(stack[i]);
+		cycleLength = stackSize;
+		if (measured)
+			cyclesEmitted++;
+	}
+
+}
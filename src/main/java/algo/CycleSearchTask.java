@@ -0,0 +1,71 @@
+package algo;
+
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import graphs.CompactGraph;
+
+/**
+ * Searches the cycles of a range of start Vertices in a strongly connected
+ * component<br>
+ * The searches of different start Vertices don't depend on each other, so
+ * large ranges are split in halves, which idle threads of the pool can steal
+ */
+class CycleSearchTask extends RecursiveAction {
+
+	private static final long serialVersionUID = 1L;
+
+	private final CompactGraph graph;
+	private final int from;
+	private final int to;
+	private final int batchSize;
+	private final int maxLength;
+	private final CycleConsumer consumer;
+	private final AtomicBoolean stopped;
+	private final MetricsListener listener;
+	private final SearchStatistics total;
+
+	/**
+	 * Creates a new task
+	 * 
+	 * @param graph     component to search
+	 * @param from      first start index
+	 * @param to        index after the last start
+	 * @param batchSize count of start Vertices searched without splitting
+	 * @param maxLength maximum count of Vertices in a cycle
+	 * @param consumer  receives the cycles, has to be thread-safe
+	 * @param stopped   set as soon as the search should end
+	 * @param listener  receives the measurements of every start Vertex, null to
+	 *                  measure nothing
+	 * @param total     sums up the counters of the whole component, null if the
+	 *                  listener is null
+	 */
+	CycleSearchTask(CompactGraph graph, int from, int to, int batchSize, int maxLength,
+			CycleConsumer consumer, AtomicBoolean stopped, MetricsListener listener, SearchStatistics total) {
+		this.graph = graph;
+		this.from = from;
+		this.to = to;
+		this.batchSize = batchSize;
+		this.maxLength = maxLength;
+		this.consumer = consumer;
+		this.stopped = stopped;
+		this.listener = listener;
+		this.total = total;
+	}
+
+	@Override
+	protected void compute() {
+
+		if (to - from > batchSize) {
+			int middle = (from + to) >>> 1;
+			invokeAll(new CycleSearchTask(graph, from, middle, batchSize, maxLength, consumer, stopped, listener, total),
+					new CycleSearchTask(graph, middle, to, batchSize, maxLength, consumer, stopped, listener, total));
+			return;
+		}
+
+		// own blocked set, map and stack for this batch
+		new CycleSearch(graph, maxLength, listener != null).searchRange(from, to, consumer, stopped, listener, total);
+
+	}
+
+}
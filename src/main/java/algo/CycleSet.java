@@ -0,0 +1,317 @@
+package algo;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+import graphs.DirectedGraph;
+
+/**
+ * Compact store of simple cycles<br>
+ * All Vertex ids are appended to one sequence and every cycle is an offset into
+ * it, both split into chunks of fixed size, so growing never copies the stored
+ * cycles and the count of ids isn't limited by the size of an array. A cycle of
+ * length k takes 4 * k + 8 bytes instead of a {@link DirectedGraph} per
+ * cycle.<br>
+ * Can be handed to a search as {@link CycleConsumer} directly. Adding is
+ * thread-safe, reading while cycles are added isn't
+ */
+public class CycleSet implements CycleConsumer, Iterable<int[]> {
+
+	private static final int CHUNK_BITS = 16;
+	private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+	private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+	// chunks start small and double up to the full size, so small sets stay small
+	private static final int MIN_CHUNK_SIZE = 16;
+
+	// Vertex ids of all cycles, one after another
+	private int[][] idChunks = new int[16][];
+	private long idCount;
+	// position of the first id of every cycle
+	private long[][] offsetChunks = new long[16][];
+	private int cycleCount;
+	private int maxLength;
+
+	/**
+	 * Appends a cycle
+	 *
+	 * @param cycle  Vertex ids in order of the cycle
+	 * @param length count of Vertices in the cycle
+	 * @return always true, to continue a search
+	 */
+	@Override
+	public boolean accept(int[] cycle, int length) {
+		add(cycle, length);
+		return true;
+	}
+
+	/**
+	 * Appends a cycle
+	 *
+	 * @param cycle  Vertex ids in order of the cycle
+	 * @param length count of Vertices in the cycle
+	 * @throws IllegalStateException if the set already holds Integer.MAX_VALUE
+	 *                               cycles
+	 */
+	public synchronized void add(int[] cycle, int length) {
+		if (cycleCount == Integer.MAX_VALUE)
+			throw new IllegalStateException("CycleSet is full");
+
+		int offsetChunk = cycleCount >>> CHUNK_BITS;
+		if (offsetChunk == offsetChunks.length)
+			offsetChunks = Arrays.copyOf(offsetChunks, offsetChunks.length * 2);
+		int offsetPosition = cycleCount & CHUNK_MASK;
+		if (offsetChunks[offsetChunk] == null)
+			offsetChunks[offsetChunk] = new long[MIN_CHUNK_SIZE];
+		else if (offsetChunks[offsetChunk].length == offsetPosition)
+			offsetChunks[offsetChunk] = Arrays.copyOf(offsetChunks[offsetChunk], offsetPosition * 2);
+		offsetChunks[offsetChunk][cycleCount & CHUNK_MASK] = idCount;
+		cycleCount++;
+
+		// copy the ids piecewise into the chunks they fall into
+		for (int copied = 0; copied < length;) {
+			int idChunk = (int) (idCount >>> CHUNK_BITS);
+			if (idChunk == idChunks.length)
+				idChunks = Arrays.copyOf(idChunks, idChunks.length * 2);
+			int position = (int) (idCount & CHUNK_MASK);
+			int count = Math.min(length - copied, CHUNK_SIZE - position);
+			idChunks[idChunk] = ensureCapacity(idChunks[idChunk], position + count);
+			System.arraycopy(cycle, copied, idChunks[idChunk], position, count);
+			copied += count;
+			idCount += count;
+		}
+
+		maxLength = Math.max(maxLength, length);
+	}
+
+	/**
+	 * @return count of cycles
+	 */
+	public int size() {
+		return cycleCount;
+	}
+
+	/**
+	 * @return true if there is no cycle
+	 */
+	public boolean isEmpty() {
+		return cycleCount == 0;
+	}
+
+	/**
+	 * @return count of Vertex ids of all cycles
+	 */
+	public long getIdCount() {
+		return idCount;
+	}
+
+	/**
+	 * @return count of Vertices in the longest cycle, 0 if there is no cycle
+	 */
+	public int getMaxLength() {
+		return maxLength;
+	}
+
+	/**
+	 * @param index of the cycle
+	 * @return count of Vertices in the cycle
+	 * @throws IndexOutOfBoundsException if there is no cycle with the index
+	 */
+	public int getLength(int index) {
+		Objects.checkIndex(index, cycleCount);
+		return (int) (getEnd(index) - getOffset(index));
+	}
+
+	/**
+	 * @param index    of the cycle
+	 * @param position of the Vertex in the cycle
+	 * @return id of the Vertex
+	 * @throws IndexOutOfBoundsException if there is no cycle with the index or
+	 *                                   no Vertex at the position
+	 */
+	public int getVertexId(int index, int position) {
+		Objects.checkIndex(position, getLength(index));
+		return getId(getOffset(index) + position);
+	}
+
+	/**
+	 * @param index of the cycle
+	 * @return Vertex ids in order of the cycle
+	 * @throws IndexOutOfBoundsException if there is no cycle with the index
+	 */
+	public int[] get(int index) {
+		int[] cycle = new int[getLength(index)];
+		copy(index, cycle);
+		return cycle;
+	}
+
+	/**
+	 * Copies a cycle into an array
+	 *
+	 * @param index  of the cycle
+	 * @param target array of at least the length of the cycle
+	 * @return count of Vertices in the cycle
+	 * @throws IndexOutOfBoundsException if there is no cycle with the index or it
+	 *                                   doesn't fit into the array
+	 */
+	public int copy(int index, int[] target) {
+		int length = getLength(index);
+		long id = getOffset(index);
+		for (int copied = 0; copied < length;) {
+			int position = (int) (id & CHUNK_MASK);
+			int count = Math.min(length - copied, CHUNK_SIZE - position);
+			System.arraycopy(idChunks[(int) (id >>> CHUNK_BITS)], position, target, copied, count);
+			copied += count;
+			id += count;
+		}
+		return length;
+	}
+
+	/**
+	 * Hands every cycle over to the consumer, in one reused array
+	 *
+	 * @param consumer receives the cycles, can stop the iteration
+	 * @return true if all cycles have been handed over, false if the consumer
+	 *         stopped
+	 */
+	public boolean forEachCycle(CycleConsumer consumer) {
+		int[] buffer = new int[maxLength];
+		for (int index = 0; index < cycleCount; index++) {
+			if (!consumer.accept(buffer, copy(index, buffer)))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Iterates over copies of the cycles
+	 */
+	@Override
+	public Iterator<int[]> iterator() {
+		return new Iterator<int[]>() {
+
+			private int index;
+
+			@Override
+			public boolean hasNext() {
+				return index < cycleCount;
+			}
+
+			@Override
+			public int[] next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				return get(index++);
+			}
+
+		};
+	}
+
+	/**
+	 * Creates a Graph of a cycle with empty Vertices
+	 *
+	 * @param <T>   type of the Graph
+	 * @param index of the cycle
+	 * @return Graph of the cycle
+	 * @throws IndexOutOfBoundsException if there is no cycle with the index
+	 */
+	public <T> DirectedGraph<T> toGraph(int index) {
+		return toGraph(index, null);
+	}
+
+	/**
+	 * Creates a Graph of a cycle with copies of the Vertices of the searched Graph
+	 *
+	 * @param <T>   type of the Graph
+	 * @param index of the cycle
+	 * @param graph to copy the Vertices from, null to create empty Vertices
+	 * @return Graph of the cycle
+	 * @throws IndexOutOfBoundsException if there is no cycle with the index
+	 */
+	public <T> DirectedGraph<T> toGraph(int index, DirectedGraph<T> graph) {
+		int[] cycle = get(index);
+		return Johnson.createCycleGraph(graph, cycle, cycle.length);
+	}
+
+	/**
+	 * Compares two cycles lexicographically by their Vertex ids, a shorter cycle
+	 * before a longer one with the same beginning
+	 *
+	 * @param index      of the first cycle
+	 * @param otherIndex of the second cycle
+	 * @return negative, zero or positive like a Comparator
+	 */
+	int compare(int index, int otherIndex) {
+		long id = getOffset(index);
+		long otherId = getOffset(otherIndex);
+		int length = getLength(index);
+		int otherLength = getLength(otherIndex);
+		for (int i = 0; i < Math.min(length, otherLength); i++, id++, otherId++) {
+			int result = Integer.compare(getId(id), getId(otherId));
+			if (result != 0)
+				return result;
+		}
+		return Integer.compare(length, otherLength);
+	}
+
+	/**
+	 * Compares a cycle with a rotation of another one
+	 *
+	 * @param index  of the cycle
+	 * @param cycle  Vertex ids in order of the other cycle
+	 * @param first  position in the other cycle to start comparing at
+	 * @param length count of Vertices in the other cycle
+	 * @return true if the cycle has the same ids in the same order
+	 */
+	boolean matches(int index, int[] cycle, int first, int length) {
+		if (getLength(index) != length)
+			return false;
+		long id = getOffset(index);
+		for (int i = 0; i < length; i++, id++) {
+			if (getId(id) != cycle[first + i < length ? first + i : first + i - length])
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * @param id position in the sequence of all ids
+	 * @return Vertex id at the position
+	 */
+	private int getId(long id) {
+		return idChunks[(int) (id >>> CHUNK_BITS)][(int) (id & CHUNK_MASK)];
+	}
+
+	/**
+	 * Grows a chunk of ids by doubling, up to the full chunk size
+	 *
+	 * @param chunk    to grow, null if it doesn't exist yet
+	 * @param capacity count of ids the chunk has to hold
+	 * @return the chunk or a larger copy of it
+	 */
+	private static int[] ensureCapacity(int[] chunk, int capacity) {
+		if (chunk == null)
+			return new int[Math.min(CHUNK_SIZE, Math.max(MIN_CHUNK_SIZE, capacity))];
+		if (chunk.length >= capacity)
+			return chunk;
+		return Arrays.copyOf(chunk, Math.min(CHUNK_SIZE, Math.max(capacity, chunk.length * 2)));
+	}
+
+	/**
+	 * @param index of the cycle
+	 * @return position of the first id
+	 */
+	private long getOffset(int index) {
+		return offsetChunks[index >>> CHUNK_BITS][index & CHUNK_MASK];
+	}
+
+	/**
+	 * @param index of the cycle
+	 * @return position after the last id
+	 */
+	private long getEnd(int index) {
+		return index + 1 < cycleCount ? getOffset(index + 1) : idCount;
+	}
+
+}
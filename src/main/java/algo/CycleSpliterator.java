@@ -0,0 +1,57 @@
+package algo;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+import graphs.CompactGraph;
+
+/**
+ * Pulls simple cycles out of strongly connected components one at a time, so
+ * only the current component and search are held in memory
+ */
+class CycleSpliterator extends Spliterators.AbstractSpliterator<int[]> {
+
+	private final Iterator<CompactGraph> components;
+	private final int maxLength;
+	private CycleSearch search;
+	private int startIndex;
+
+	/**
+	 * Creates a new Spliterator
+	 * 
+	 * @param components strongly connected components to search
+	 * @param maxLength  maximum count of Vertices in a cycle
+	 */
+	CycleSpliterator(Iterator<CompactGraph> components, int maxLength) {
+		super(Long.MAX_VALUE, NONNULL);
+		this.components = components;
+		this.maxLength = maxLength;
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super int[]> action) {
+
+		while (true) {
+
+			if (search != null && search.next()) {
+				action.accept(Arrays.copyOf(search.getCycle(), search.getCycleLength()));
+				return true;
+			}
+
+			// continue with the next start Vertex or component
+			if (search != null && startIndex >= 0) {
+				startIndex = search.begin(startIndex + 1);
+			} else if (components.hasNext()) {
+				search = new CycleSearch(components.next(), maxLength, false);
+				startIndex = search.begin(0);
+			} else {
+				search = null;
+				return false;
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,655 @@
+package algo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import graphs.CompactGraph;
+import graphs.DirectedGraph;
+import graphs.Edge;
+import graphs.GraphBuilder;
+import graphs.Hashing;
+import graphs.Vertex;
+
+/**
+ * Strongly connected components of a Graph, which changes one Edge at a
+ * time<br>
+ * The components are kept in a topological order of the condensation, which
+ * is repaired after every new Edge with the online algorithm of Pearce and
+ * Kelly: only components between the ends of an Edge against the order are
+ * searched and reordered. If the Edge closes a cycle, the components found in
+ * both directions are merged. Removing an Edge inside a component recomputes
+ * only this component with {@link Tarjan}, if the source can't reach the
+ * destination anymore.<br>
+ * Every component owns an interval of positions in the order, a split
+ * component divides its interval among its parts. All state is kept in arrays
+ * over dense Vertex indices and component numbers, so updates don't box.<br>
+ * The Graph must only be changed through this class while it is used
+ *
+ * @param <T> type of the Graph
+ */
+public class DynamicComponents<T> {
+
+	// width of the interval of every component after renumbering, so split
+	// components fit in
+	private static final long SPACING = 1L << 20;
+
+	private final DirectedGraph<T> graph;
+
+	// dense index of every Vertex id, and the Vertices by dense index
+	private final IdTable indices = new IdTable();
+	private final List<Vertex<T>> vertices = new ArrayList<>();
+	private int[] vertexIds = new int[0];
+	private int[] componentOf = new int[0];
+	// true if the Vertex has an Edge to itself
+	private boolean[] selfLoops = new boolean[0];
+
+	// dense indices of the members of every component, null if the number is
+	// unused
+	private int[][] members = new int[0][];
+	private int[] memberCounts = new int[0];
+	// first position and width of the interval every component owns
+	private long[] positions = new long[0];
+	private long[] widths = new long[0];
+	// position after the last interval
+	private long end;
+	private int componentCount;
+	private int usedNumbers;
+	private int[] freeNumbers = new int[0];
+	private int freeCount;
+
+	// visited marks of the current operation, equal to epoch if visited
+	private int epoch;
+	private int[] forwardMarks = new int[0];
+	private int[] backwardMarks = new int[0];
+	private int[] vertexMarks = new int[0];
+	// work arrays of the searches
+	private int[] forward = new int[0];
+	private int[] backward = new int[0];
+	private int[] region = new int[0];
+	private int[] pending = new int[0];
+	private long[] slotPositions = new long[0];
+	private long[] slotWidths = new long[0];
+
+	/**
+	 * Finds the components of a Graph
+	 *
+	 * @param graph to keep track of, must not be changed outside of this class,
+	 *              its incoming Edges are indexed from now on
+	 */
+	public DynamicComponents(DirectedGraph<T> graph) {
+		this.graph = graph;
+		graph.enableIncomingIndex();
+		StronglyConnectedComponents components = new Tarjan().getStronglyConnectedComponents(graph);
+		CompactGraph compact = components.getGraph();
+		for (int index = 0; index < compact.getVertexCount(); index++) {
+			// register may grow the arrays
+			int vertex = register(compact.getId(index));
+			selfLoops[vertex] = compact.hasEdge(index, index);
+		}
+		addComponents(components, 0, SPACING);
+		end = components.getComponentCount() * SPACING;
+	}
+
+	/**
+	 * @return the Graph, which must not be changed outside of this class
+	 */
+	public DirectedGraph<T> getGraph() {
+		return graph;
+	}
+
+	/**
+	 * Adds an Edge and merges the components it connects to a cycle
+	 *
+	 * @param fromId id of the source, created if it doesn't exist
+	 * @param toId   id of the destination, created if it doesn't exist
+	 * @return true if components have been merged
+	 */
+	public boolean addEdge(int fromId, int toId) {
+		if (graph.hasEdge(fromId, toId))
+			return false;
+
+		graph.addEdge(fromId, toId);
+		// both may grow the arrays
+		int fromIndex = addSingleton(fromId);
+		int toIndex = addSingleton(toId);
+		if (fromIndex == toIndex)
+			selfLoops[fromIndex] = true;
+
+		int source = componentOf[fromIndex];
+		int target = componentOf[toIndex];
+		long lowerBound = positions[target];
+		long upperBound = positions[source];
+		if (source == target || upperBound < lowerBound)
+			return false;
+
+		// the Edge goes against the order: search the affected region between
+		// both ends, forwards from the destination and backwards from the source
+		nextEpoch();
+		int forwardCount = collect(target, true, upperBound, forward, forwardMarks);
+		int backwardCount = collect(source, false, lowerBound, backward, backwardMarks);
+
+		// the intervals of the region are handed out again in their order
+		int regionCount = 0;
+		for (int i = 0; i < forwardCount; i++)
+			region[regionCount++] = forward[i];
+		for (int i = 0; i < backwardCount; i++) {
+			if (forwardMarks[backward[i]] != epoch)
+				region[regionCount++] = backward[i];
+		}
+		sortByPosition(region, regionCount);
+		for (int i = 0; i < regionCount; i++) {
+			slotPositions[i] = positions[region[i]];
+			slotWidths[i] = widths[region[i]];
+		}
+
+		// components on a path from the destination back to the source form a
+		// cycle now, all others keep their relative order
+		boolean cyclic = forwardMarks[source] == epoch;
+		int slot = 0;
+		for (int i = 0; i < regionCount; i++) {
+			if (forwardMarks[region[i]] != epoch)
+				setInterval(region[i], slot++);
+		}
+		if (cyclic)
+			setInterval(merge(regionCount), slot++);
+		for (int i = 0; i < regionCount; i++) {
+			int component = region[i];
+			if (forwardMarks[component] == epoch && !(cyclic && backwardMarks[component] == epoch))
+				setInterval(component, slot++);
+		}
+
+		return cyclic;
+	}
+
+	/**
+	 * Removes an Edge and splits its component, if it isn't strongly connected
+	 * anymore
+	 *
+	 * @param fromId id of the source
+	 * @param toId   id of the destination
+	 * @return true if a component has been split
+	 */
+	public boolean removeEdge(int fromId, int toId) {
+		if (!graph.hasEdge(fromId, toId))
+			return false;
+
+		graph.removeEdge(fromId, toId);
+
+		int fromIndex = indices.get(fromId);
+		int toIndex = indices.get(toId);
+		if (fromIndex == toIndex)
+			selfLoops[fromIndex] = false;
+		int component = componentOf[fromIndex];
+		if (fromId == toId || component != componentOf[toIndex] || reaches(fromIndex, toIndex))
+			return false;
+
+		StronglyConnectedComponents parts = new Tarjan().getStronglyConnectedComponents(getComponentGraph(component));
+		int count = parts.getComponentCount();
+
+		// the parts are ordered among themselves and divide the interval of the
+		// component
+		if (widths[component] < count)
+			renumber(Math.max(SPACING, count));
+		long start = positions[component];
+		long step = widths[component] / count;
+		release(component);
+		addComponents(parts, start, step);
+		return true;
+	}
+
+	/**
+	 * Returns the component of a Vertex in O(1)
+	 *
+	 * @param id of the Vertex
+	 * @return number of the component, -1 if the Vertex doesn't exist
+	 */
+	public int componentOf(int id) {
+		int index = indices.get(id);
+		return index < 0 ? -1 : componentOf[index];
+	}
+
+	/**
+	 * Checks if a Vertex lies on a cycle in O(1)
+	 *
+	 * @param id of the Vertex
+	 * @return true if its component has more than one Vertex or it has a self
+	 *         loop
+	 */
+	public boolean isOnCycle(int id) {
+		int index = indices.get(id);
+		return index >= 0 && (memberCounts[componentOf[index]] > 1 || selfLoops[index]);
+	}
+
+	/**
+	 * Checks if two Vertices lie on a common cycle in O(1)
+	 *
+	 * @param id      of the first Vertex
+	 * @param otherId of the second Vertex
+	 * @return true if both are part of the same component
+	 */
+	public boolean isInSameComponent(int id, int otherId) {
+		int component = componentOf(id);
+		return component >= 0 && component == componentOf(otherId);
+	}
+
+	/**
+	 * @param component number of the component
+	 * @return ids of its Vertices, empty if there is no such component
+	 */
+	public int[] getMembers(int component) {
+		if (component < 0 || component >= usedNumbers || members[component] == null)
+			return new int[0];
+		int[] ids = new int[memberCounts[component]];
+		for (int i = 0; i < ids.length; i++)
+			ids[i] = vertexIds[members[component][i]];
+		return ids;
+	}
+
+	/**
+	 * @return count of components, including single Vertices
+	 */
+	public int getComponentCount() {
+		return componentCount;
+	}
+
+	/**
+	 * @return count of Vertices with a dense index
+	 */
+	int getVertexCount() {
+		return vertices.size();
+	}
+
+	/**
+	 * @param id of the Vertex
+	 * @return dense index of the Vertex, -1 if it doesn't exist
+	 */
+	int indexOf(int id) {
+		return indices.get(id);
+	}
+
+	/**
+	 * @param index dense index of the Vertex
+	 * @return id of the Vertex
+	 */
+	int idAt(int index) {
+		return vertexIds[index];
+	}
+
+	/**
+	 * @param index dense index of the Vertex
+	 * @return the Vertex of the Graph
+	 */
+	Vertex<T> vertexAt(int index) {
+		return vertices.get(index);
+	}
+
+	/**
+	 * @param index dense index of the Vertex
+	 * @return number of the component of the Vertex
+	 */
+	int componentOfIndex(int index) {
+		return componentOf[index];
+	}
+
+	/**
+	 * Creates the Subgraph induced by a component
+	 *
+	 * @param component number of the component
+	 * @return Vertices of the component and the Edges between them
+	 */
+	CompactGraph getComponentGraph(int component) {
+		GraphBuilder builder = new GraphBuilder();
+		for (int i = 0; i < memberCounts[component]; i++) {
+			int vertex = members[component][i];
+			builder.addVertex(vertexIds[vertex]);
+			List<Edge<T>> edges = vertices.get(vertex).getEdges();
+			for (int j = 0; j < edges.size(); j++) {
+				int toId = edges.get(j).getTo().getId();
+				if (componentOf[indices.get(toId)] == component)
+					builder.addEdge(vertexIds[vertex], toId);
+			}
+		}
+		return builder.buildCompactGraph();
+	}
+
+	/**
+	 * Collects the components reachable from a component within the affected
+	 * region of the order
+	 *
+	 * @param start   component to start from
+	 * @param forward true to follow the Edges, false to follow them backwards
+	 * @param bound   last position to visit in the direction of the search
+	 * @param reached receives the reached components, including the start
+	 * @param marks   marks the reached components with the current epoch
+	 * @return count of reached components
+	 */
+	private int collect(int start, boolean forward, long bound, int[] reached, int[] marks) {
+		int count = 0;
+		int size = 0;
+		marks[start] = epoch;
+		reached[count++] = start;
+		pending[size++] = start;
+		while (size > 0) {
+			int component = pending[--size];
+			for (int i = 0; i < memberCounts[component]; i++) {
+				Vertex<T> vertex = vertices.get(members[component][i]);
+				if (forward) {
+					List<Edge<T>> edges = vertex.getEdges();
+					for (int j = 0; j < edges.size(); j++) {
+						int neighbour = componentOf[indices.get(edges.get(j).getTo().getId())];
+						if (positions[neighbour] <= bound && marks[neighbour] != epoch) {
+							marks[neighbour] = epoch;
+							reached[count++] = neighbour;
+							pending[size++] = neighbour;
+						}
+					}
+				} else {
+					for (Edge<T> edge : vertex.getIncomingEdges()) {
+						int neighbour = componentOf[indices.get(edge.getFrom().getId())];
+						if (positions[neighbour] >= bound && marks[neighbour] != epoch) {
+							marks[neighbour] = epoch;
+							reached[count++] = neighbour;
+							pending[size++] = neighbour;
+						}
+					}
+				}
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Moves the Vertices of the components of the region, which were reached in
+	 * both directions, into the largest one
+	 *
+	 * @param regionCount count of components in the region
+	 * @return number of the merged component
+	 */
+	private int merge(int regionCount) {
+		int target = -1;
+		for (int i = 0; i < regionCount; i++) {
+			int component = region[i];
+			if (forwardMarks[component] == epoch && backwardMarks[component] == epoch
+					&& (target < 0 || memberCounts[component] > memberCounts[target]))
+				target = component;
+		}
+		for (int i = 0; i < regionCount; i++) {
+			int component = region[i];
+			if (component == target || forwardMarks[component] != epoch || backwardMarks[component] != epoch)
+				continue;
+			for (int j = 0; j < memberCounts[component]; j++) {
+				int vertex = members[component][j];
+				componentOf[vertex] = target;
+				addMember(target, vertex);
+			}
+			release(component);
+		}
+		return target;
+	}
+
+	/**
+	 * Checks if there is a path between two Vertices of a component
+	 *
+	 * @param from index of the Vertex to start from
+	 * @param to   index of the Vertex to look for
+	 * @return true if the destination can be reached within the component
+	 */
+	private boolean reaches(int from, int to) {
+		nextEpoch();
+		int component = componentOf[from];
+		int size = 0;
+		vertexMarks[from] = epoch;
+		pending[size++] = from;
+		while (size > 0) {
+			List<Edge<T>> edges = vertices.get(pending[--size]).getEdges();
+			for (int i = 0; i < edges.size(); i++) {
+				int next = indices.get(edges.get(i).getTo().getId());
+				if (next == to)
+					return true;
+				if (componentOf[next] == component && vertexMarks[next] != epoch) {
+					vertexMarks[next] = epoch;
+					pending[size++] = next;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Adds new components in topological order
+	 *
+	 * @param components found in the Graph or a part of it
+	 * @param start      first position of the first component in the order
+	 * @param step       width of the interval of every component
+	 */
+	private void addComponents(StronglyConnectedComponents components, long start, long step) {
+		CompactGraph compact = components.getGraph();
+		int count = components.getComponentCount();
+		int[] numbers = new int[count];
+		for (int component = 0; component < count; component++) {
+			numbers[component] = allocate(components.getComponentSize(component));
+			// Tarjan numbers the components in reverse topological order
+			positions[numbers[component]] = start + (count - 1 - component) * step;
+			widths[numbers[component]] = step;
+		}
+		for (int index = 0; index < compact.getVertexCount(); index++) {
+			int vertex = indices.get(compact.getId(index));
+			int component = numbers[components.componentOf(index)];
+			componentOf[vertex] = component;
+			addMember(component, vertex);
+		}
+	}
+
+	/**
+	 * Creates a component for a new Vertex at the end of the order
+	 *
+	 * @param id of the Vertex
+	 * @return dense index of the Vertex
+	 */
+	private int addSingleton(int id) {
+		int vertex = indices.get(id);
+		if (vertex >= 0)
+			return vertex;
+		vertex = register(id);
+		int component = allocate(1);
+		componentOf[vertex] = component;
+		addMember(component, vertex);
+		positions[component] = end;
+		widths[component] = SPACING;
+		end += SPACING;
+		return vertex;
+	}
+
+	/**
+	 * Assigns the next dense index to a Vertex of the Graph
+	 *
+	 * @param id of the Vertex
+	 * @return dense index of the Vertex
+	 */
+	private int register(int id) {
+		int vertex = vertices.size();
+		ensureCapacity(vertex + 1);
+		vertices.add(graph.getVertex(id));
+		vertexIds[vertex] = id;
+		indices.put(id, vertex);
+		return vertex;
+	}
+
+	/**
+	 * @param size expected count of members
+	 * @return unused component number without members
+	 */
+	private int allocate(int size) {
+		int component = freeCount > 0 ? freeNumbers[--freeCount] : usedNumbers++;
+		members[component] = new int[Math.max(1, size)];
+		memberCounts[component] = 0;
+		componentCount++;
+		return component;
+	}
+
+	/**
+	 * Frees the number of a component, whose Vertices have been moved elsewhere
+	 *
+	 * @param component number of the component
+	 */
+	private void release(int component) {
+		members[component] = null;
+		memberCounts[component] = 0;
+		freeNumbers[freeCount++] = component;
+		componentCount--;
+	}
+
+	/**
+	 * @param component number of the component
+	 * @param vertex    dense index of the new member
+	 */
+	private void addMember(int component, int vertex) {
+		int[] ids = members[component];
+		if (memberCounts[component] == ids.length)
+			members[component] = ids = Arrays.copyOf(ids, ids.length * 2);
+		ids[memberCounts[component]++] = vertex;
+	}
+
+	/**
+	 * Hands an interval of the sorted region over to a component
+	 *
+	 * @param component number of the component
+	 * @param slot      position of the interval in the sorted region
+	 */
+	private void setInterval(int component, int slot) {
+		positions[component] = slotPositions[slot];
+		widths[component] = slotWidths[slot];
+	}
+
+	/**
+	 * Sorts components by their positions, which are unique
+	 *
+	 * @param components numbers of the components, sorted in place
+	 * @param count      of components to sort
+	 */
+	private void sortByPosition(int[] components, int count) {
+		for (int i = 0; i < count; i++)
+			slotPositions[i] = positions[components[i]];
+		Arrays.sort(slotPositions, 0, count);
+		for (int i = 0; i < count; i++)
+			pending[Arrays.binarySearch(slotPositions, 0, count, positions[components[i]])] = components[i];
+		System.arraycopy(pending, 0, components, 0, count);
+	}
+
+	/**
+	 * Spreads the intervals of all components evenly again
+	 *
+	 * @param spacing width of every interval
+	 */
+	private void renumber(long spacing) {
+		int count = 0;
+		for (int component = 0; component < usedNumbers; component++) {
+			if (members[component] != null)
+				region[count++] = component;
+		}
+		sortByPosition(region, count);
+		for (int i = 0; i < count; i++) {
+			positions[region[i]] = i * spacing;
+			widths[region[i]] = spacing;
+		}
+		end = count * spacing;
+	}
+
+	/**
+	 * Starts a new operation, so the marks of previous ones are outdated
+	 */
+	private void nextEpoch() {
+		if (++epoch == 0) {
+			Arrays.fill(forwardMarks, 0);
+			Arrays.fill(backwardMarks, 0);
+			Arrays.fill(vertexMarks, 0);
+			epoch = 1;
+		}
+	}
+
+	/**
+	 * Grows all arrays, there are never more components than Vertices
+	 *
+	 * @param vertexCount count of Vertices to hold
+	 */
+	private void ensureCapacity(int vertexCount) {
+		if (vertexCount <= vertexIds.length)
+			return;
+		int capacity = Math.max(16, Math.max(vertexCount, vertexIds.length * 2));
+		vertexIds = Arrays.copyOf(vertexIds, capacity);
+		componentOf = Arrays.copyOf(componentOf, capacity);
+		selfLoops = Arrays.copyOf(selfLoops, capacity);
+		members = Arrays.copyOf(members, capacity);
+		memberCounts = Arrays.copyOf(memberCounts, capacity);
+		positions = Arrays.copyOf(positions, capacity);
+		widths = Arrays.copyOf(widths, capacity);
+		freeNumbers = Arrays.copyOf(freeNumbers, capacity);
+		forwardMarks = Arrays.copyOf(forwardMarks, capacity);
+		backwardMarks = Arrays.copyOf(backwardMarks, capacity);
+		vertexMarks = Arrays.copyOf(vertexMarks, capacity);
+		forward = new int[capacity];
+		backward = new int[capacity];
+		region = new int[capacity];
+		pending = new int[capacity];
+		slotPositions = new long[capacity];
+		slotWidths = new long[capacity];
+	}
+
+	/**
+	 * Open addressing table from Vertex ids to dense indices
+	 */
+	private static final class IdTable {
+
+		private int[] keys = new int[16];
+		// dense index + 1, 0 marks a free slot
+		private int[] values = new int[16];
+		private int size;
+
+		/**
+		 * @param id of the Vertex
+		 * @return dense index of the Vertex, -1 if it has none
+		 */
+		int get(int id) {
+			int mask = keys.length - 1;
+			for (int slot = (int) Hashing.mix(id) & mask;; slot = (slot + 1) & mask) {
+				if (values[slot] == 0)
+					return -1;
+				if (keys[slot] == id)
+					return values[slot] - 1;
+			}
+		}
+
+		/**
+		 * @param id    of a Vertex, which isn't part of the table yet
+		 * @param index dense index of the Vertex
+		 */
+		void put(int id, int index) {
+			int mask = keys.length - 1;
+			int slot = (int) Hashing.mix(id) & mask;
+			while (values[slot] != 0)
+				slot = (slot + 1) & mask;
+			keys[slot] = id;
+			values[slot] = index + 1;
+			if (++size * 2 > keys.length)
+				resize();
+		}
+
+		/**
+		 * Doubles the table and reinserts all entries
+		 */
+		private void resize() {
+			int[] oldKeys = keys;
+			int[] oldValues = values;
+			keys = new int[oldKeys.length * 2];
+			values = new int[oldKeys.length * 2];
+			size = 0;
+			for (int i = 0; i < oldKeys.length; i++) {
+				if (oldValues[i] != 0)
+					put(oldKeys[i], oldValues[i] - 1);
+			}
+		}
+
+	}
+
+}
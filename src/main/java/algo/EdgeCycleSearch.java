@@ -0,0 +1,229 @@
+package algo;
+
+import java.util.Arrays;
+import java.util.List;
+
+import graphs.Edge;
+
+/**
+ * Johnson's circuit search for the cycles through a single Edge, run directly
+ * on the adjacency lists of a Graph kept by {@link DynamicComponents}<br>
+ * The search is restricted to the component of the Edge through the component
+ * numbers, so nothing is copied or sorted when the Graph changes. The state is
+ * kept in arrays over dense Vertex indices, which are only touched for the
+ * Vertices the search reaches: marks hold the number of the search they belong
+ * to, and every Vertex gets the slots of its Edges in the blocked map on its
+ * first visit.
+ *
+ * @param <T> type of the Graph
+ */
+final class EdgeCycleSearch<T> {
+
+	private final DynamicComponents<T> components;
+
+	// number of the current search, marks of older searches are outdated
+	private int epoch;
+	// blocked set, blocked if equal to epoch
+	private int[] blockedMarks = new int[0];
+	// blocked map as intrusive lists over the Edge slots: the slot of an Edge
+	// v -> w in the list of w means v waits for w, -1 ends a list and -2 marks
+	// a slot not in a list
+	private int[] headMarks = new int[0];
+	private int[] blockedMapHeads = new int[0];
+	private int[] slotMarks = new int[0];
+	private int[] firstSlots = new int[0];
+	private int[] blockedMapNext = new int[0];
+	private int[] blockedMapSources = new int[0];
+	private int slotCount;
+
+	// frames of the depth search: Vertex, next Edge and if a cycle was found
+	private int[] stack = new int[0];
+	private int[] cursors = new int[0];
+	private boolean[] closed = new boolean[0];
+	private int stackSize;
+
+	// pending Vertices of an unblock cascade
+	private int[] unblockStack = new int[0];
+
+	// Vertex ids of the last found cycle
+	private int[] cycle = new int[0];
+
+	/**
+	 * Creates a new search
+	 *
+	 * @param components of the Graph to search
+	 */
+	EdgeCycleSearch(DynamicComponents<T> components) {
+		this.components = components;
+	}
+
+	/**
+	 * Hands all simple paths from the destination back to the source of an Edge
+	 * over to the consumer, as cycles starting with the Edge
+	 *
+	 * @param from     dense index of the source
+	 * @param to       dense index of the destination, in the component of the
+	 *                 source and different from it
+	 * @param consumer receives the cycles as Vertex ids
+	 * @return false if the consumer stopped the search
+	 */
+	boolean search(int from, int to, CycleConsumer consumer) {
+
+		begin();
+		int component = components.componentOfIndex(from);
+
+		// the Edge is the only way out of the start Vertex
+		push(from);
+		cursors[0] = Integer.MAX_VALUE;
+		push(to);
+
+		while (stackSize > 0) {
+
+			int top = stackSize - 1;
+			int vertex = stack[top];
+			List<Edge<T>> edges = components.vertexAt(vertex).getEdges();
+
+			if (cursors[top] < edges.size()) {
+				int neighbour = components.indexOf(edges.get(cursors[top]++).getTo().getId());
+				if (neighbour == from) {
+					closed[top] = true;
+					for (int i = 0; i <= top; i++)
+						cycle[i] = components.idAt(stack[i]);
+					if (!consumer.accept(cycle, top + 1))
+						return false;
+				} else if (components.componentOfIndex(neighbour) == component && blockedMarks[neighbour] != epoch) {
+					push(neighbour);
+				}
+				continue;
+			}
+
+			stackSize--;
+
+			if (closed[top]) {
+				unblock(vertex);
+				if (top > 0)
+					closed[top - 1] = true;
+			} else {
+				// if any neighbour gets unblocked, this Vertex should follow
+				int firstSlot = slotsOf(vertex, edges.size());
+				for (int i = 0; i < edges.size(); i++) {
+					int neighbour = components.indexOf(edges.get(i).getTo().getId());
+					int slot = firstSlot + i;
+					if (components.componentOfIndex(neighbour) == component && blockedMapNext[slot] == -2) {
+						blockedMapSources[slot] = vertex;
+						blockedMapNext[slot] = headOf(neighbour);
+						blockedMapHeads[neighbour] = slot;
+					}
+				}
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Starts a new search, so the marks of previous ones are outdated, and grows
+	 * the arrays to the current count of Vertices
+	 */
+	private void begin() {
+		int vertexCount = components.getVertexCount();
+		if (vertexCount > stack.length) {
+			int capacity = Math.max(16, Math.max(vertexCount, stack.length * 2));
+			blockedMarks = Arrays.copyOf(blockedMarks, capacity);
+			headMarks = Arrays.copyOf(headMarks, capacity);
+			blockedMapHeads = new int[capacity];
+			slotMarks = Arrays.copyOf(slotMarks, capacity);
+			firstSlots = new int[capacity];
+			stack = new int[capacity];
+			cursors = new int[capacity];
+			closed = new boolean[capacity];
+			unblockStack = new int[capacity];
+			cycle = new int[capacity];
+		}
+		if (++epoch == 0) {
+			Arrays.fill(blockedMarks, 0);
+			Arrays.fill(headMarks, 0);
+			Arrays.fill(slotMarks, 0);
+			epoch = 1;
+		}
+		slotCount = 0;
+		stackSize = 0;
+	}
+
+	/**
+	 * Opens a new frame for the Vertex and blocks it
+	 *
+	 * @param vertex dense index of the Vertex
+	 */
+	private void push(int vertex) {
+		stack[stackSize] = vertex;
+		cursors[stackSize] = 0;
+		closed[stackSize] = false;
+		stackSize++;
+		blockedMarks[vertex] = epoch;
+	}
+
+	/**
+	 * Removes the Vertex and every Vertex waiting for it from the blocked set and
+	 * map, using a worklist instead of recursion
+	 *
+	 * @param vertex dense index of the Vertex
+	 */
+	private void unblock(int vertex) {
+		int size = 0;
+		blockedMarks[vertex] = 0;
+		unblockStack[size++] = vertex;
+		while (size > 0) {
+			int current = unblockStack[--size];
+			int slot = headOf(current);
+			blockedMapHeads[current] = -1;
+			while (slot >= 0) {
+				int waitingVertex = blockedMapSources[slot];
+				int nextSlot = blockedMapNext[slot];
+				blockedMapNext[slot] = -2;
+				if (blockedMarks[waitingVertex] == epoch) {
+					blockedMarks[waitingVertex] = 0;
+					unblockStack[size++] = waitingVertex;
+				}
+				slot = nextSlot;
+			}
+		}
+	}
+
+	/**
+	 * @param vertex dense index of the Vertex
+	 * @return first slot of the list of the Vertex in the blocked map, -1 if it
+	 *         is empty
+	 */
+	private int headOf(int vertex) {
+		if (headMarks[vertex] != epoch) {
+			headMarks[vertex] = epoch;
+			blockedMapHeads[vertex] = -1;
+		}
+		return blockedMapHeads[vertex];
+	}
+
+	/**
+	 * Hands out the slots of the Edges of a Vertex on its first call in a search
+	 *
+	 * @param vertex dense index of the Vertex
+	 * @param degree count of outgoing Edges of the Vertex
+	 * @return slot of the first Edge, the others follow in the order of the
+	 *         adjacency list
+	 */
+	private int slotsOf(int vertex, int degree) {
+		if (slotMarks[vertex] == epoch)
+			return firstSlots[vertex];
+		slotMarks[vertex] = epoch;
+		firstSlots[vertex] = slotCount;
+		if (slotCount + degree > blockedMapNext.length) {
+			int capacity = Math.max(16, Math.max(slotCount + degree, blockedMapNext.length * 2));
+			blockedMapNext = Arrays.copyOf(blockedMapNext, capacity);
+			blockedMapSources = Arrays.copyOf(blockedMapSources, capacity);
+		}
+		Arrays.fill(blockedMapNext, slotCount, slotCount + degree, -2);
+		slotCount += degree;
+		return firstSlots[vertex];
+	}
+
+}
@@ -0,0 +1,157 @@
+package algo;
+
+import graphs.DirectedGraph;
+
+/**
+ * Keeps track of the simple cycles of a Graph, which changes one Edge at a
+ * time<br>
+ * Every cycle through a new Edge u -&gt; v is a simple path v ~&gt; u closed by
+ * the Edge, and all of these paths lie in the strongly connected component of
+ * u and v. Adding or removing an Edge therefore only searches paths in that
+ * component, using the search of {@link Johnson} with the Edge as fixed first
+ * step on the live adjacency lists, and the cycles of other components are
+ * never visited again.<br>
+ * The components are kept up to date by {@link DynamicComponents}.<br>
+ * The Graph must only be changed through this class while it is used
+ *
+ * @param <T> type of the Graph
+ */
+public class IncrementalCycles<T> {
+
+	private final DirectedGraph<T> graph;
+	private final DynamicComponents<T> components;
+	private final EdgeCycleSearch<T> search;
+
+	/**
+	 * Creates a new engine on a Graph and finds its components
+	 *
+	 * @param graph to keep track of, must not be changed outside of the engine
+	 */
+	public IncrementalCycles(DirectedGraph<T> graph) {
+		this.graph = graph;
+		this.components = new DynamicComponents<>(graph);
+		this.search = new EdgeCycleSearch<>(components);
+	}
+
+	/**
+	 * @return the Graph, which must not be changed outside of the engine
+	 */
+	public DirectedGraph<T> getGraph() {
+		return graph;
+	}
+
+	/**
+	 * @return strongly connected components of the Graph, which must only be
+	 *         queried
+	 */
+	public DynamicComponents<T> getComponents() {
+		return components;
+	}
+
+	/**
+	 * Adds an Edge and collects the cycles it closes
+	 *
+	 * @param fromId id of the source, created if it doesn't exist
+	 * @param toId   id of the destination, created if it doesn't exist
+	 * @return new cycles, all of them through the Edge
+	 */
+	public CycleSet addEdge(int fromId, int toId) {
+		CycleSet cycles = new CycleSet();
+		addEdge(fromId, toId, cycles);
+		return cycles;
+	}
+
+	/**
+	 * Adds an Edge and hands the cycles it closes over to the consumer<br>
+	 * Nothing is reported if the Edge already exists
+	 *
+	 * @param fromId   id of the source, created if it doesn't exist
+	 * @param toId     id of the destination, created if it doesn't exist
+	 * @param consumer receives the new cycles, can stop the search, the Edge is
+	 *                 added anyway
+	 * @return true if all new cycles have been reported, false if the consumer
+	 *         stopped
+	 */
+	public boolean addEdge(int fromId, int toId, CycleConsumer consumer) {
+		if (graph.hasEdge(fromId, toId))
+			return true;
+
+		components.addEdge(fromId, toId);
+
+		if (fromId == toId)
+			return consumer.accept(new int[] { fromId }, 1);
+		if (!components.isInSameComponent(fromId, toId))
+			return true;
+		return searchCycles(fromId, toId, consumer);
+	}
+
+	/**
+	 * Removes an Edge and collects the cycles, which used it
+	 *
+	 * @param fromId id of the source
+	 * @param toId   id of the destination
+	 * @return cycles, which don't exist anymore
+	 */
+	public CycleSet removeEdge(int fromId, int toId) {
+		CycleSet cycles = new CycleSet();
+		removeEdge(fromId, toId, cycles);
+		return cycles;
+	}
+
+	/**
+	 * Removes an Edge and hands the cycles, which used it, over to the
+	 * consumer<br>
+	 * Nothing is reported if the Edge doesn't exist
+	 *
+	 * @param fromId   id of the source
+	 * @param toId     id of the destination
+	 * @param consumer receives the retracted cycles, can stop the search, the
+	 *                 Edge is removed anyway
+	 * @return true if all retracted cycles have been reported, false if the
+	 *         consumer stopped
+	 */
+	public boolean removeEdge(int fromId, int toId, CycleConsumer consumer) {
+		if (!graph.hasEdge(fromId, toId))
+			return true;
+
+		boolean completed = true;
+		if (fromId == toId)
+			completed = consumer.accept(new int[] { fromId }, 1);
+		else if (components.isInSameComponent(fromId, toId))
+			completed = searchCycles(fromId, toId, consumer);
+
+		components.removeEdge(fromId, toId);
+
+		return completed;
+	}
+
+	/**
+	 * Checks if two Vertices lie on a common cycle
+	 *
+	 * @param id      of the first Vertex
+	 * @param otherId of the second Vertex
+	 * @return true if both are part of the same strongly connected component
+	 */
+	public boolean isInSameComponent(int id, int otherId) {
+		return components.isInSameComponent(id, otherId);
+	}
+
+	/**
+	 * Hands all simple paths from the destination back to the source of an Edge
+	 * over to the consumer, as cycles closed by the Edge<br>
+	 * Johnson's circuit search from the source, with the Edge as its only first
+	 * step and restricted to the component of both ends, which isn't copied
+	 *
+	 * @param fromId   id of the source
+	 * @param toId     id of the destination
+	 * @param consumer receives the cycles, rotated to their canonical form
+	 * @return false if the consumer stopped the search
+	 */
+	private boolean searchCycles(int fromId, int toId, CycleConsumer consumer) {
+		return search.search(components.indexOf(fromId), components.indexOf(toId), (cycle, length) -> {
+			CycleIndex.canonicalize(cycle, length);
+			return consumer.accept(cycle, length);
+		});
+	}
+
+}
@@ -1,15 +1,21 @@
 package algo;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.Stack;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import graphs.CompactGraph;
 import graphs.DirectedGraph;
-import graphs.Vertex;
 
 /**
  * Johnson's algorithm to find simple cycles in a graph
@@ -18,12 +24,57 @@ import graphs.Vertex;
  */
 public class Johnson<T> {
 
-	private Stack<Vertex<T>> stack;
-	private Set<Vertex<T>> blockedSet;
-	private Map<Vertex<T>, Set<Vertex<T>>> blockedMap;
-	private DirectedGraph<T> currentGraph;
-	private Vertex<T> startVertex;
-	private List<DirectedGraph<T>> results;
+	// components with less Vertices are searched by a single thread
+	private static final int MIN_SPLIT_SIZE = 32;
+	// batches of start Vertices per thread of the pool, to balance uneven costs
+	private static final int BATCHES_PER_THREAD = 8;
+
+	// runs the components in parallel if set
+	private ForkJoinPool pool;
+	// longer cycles are neither searched nor reported
+	private int maxLength = Integer.MAX_VALUE;
+	// receives the measurements of the searches if set
+	private MetricsListener metricsListener;
+
+	/**
+	 * Sets the pool to search in parallel<br>
+	 * Independent strongly connected components are searched at the same time
+	 * and large components are split into batches of start Vertices. While a
+	 * pool is set, consumers are called from multiple threads at once and have
+	 * to be thread-safe
+	 * 
+	 * @param pool to run the searches in, null to search sequentially
+	 */
+	public void setPool(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Limits the length of the cycles to search for<br>
+	 * Paths are only extended while they can still close a short enough cycle,
+	 * so the search stays fast on dense graphs with huge numbers of long cycles
+	 * 
+	 * @param maxLength maximum count of Vertices in a cycle, Integer.MAX_VALUE
+	 *                  for no limit
+	 * @throws IllegalArgumentException - if maxLength is less than 1
+	 */
+	public void setMaxLength(int maxLength) {
+		if (maxLength < 1)
+			throw new IllegalArgumentException("maxLength must be at least 1: " + maxLength);
+		this.maxLength = maxLength;
+	}
+
+	/**
+	 * Sets the listener to measure the searches<br>
+	 * Reports the time to find the strongly connected components and the counters
+	 * and times of every start Vertex and component. The lazy
+	 * {@link #simpleCycles(CompactGraph)} isn't measured
+	 * 
+	 * @param metricsListener to receive the measurements, null to measure nothing
+	 */
+	public void setMetricsListener(MetricsListener metricsListener) {
+		this.metricsListener = metricsListener;
+	}
 
 	/**
 	 * Finds all the simple cycles in a graph<br>
@@ -34,114 +85,299 @@ public class Johnson<T> {
 	 */
 	public List<DirectedGraph<T>> getSimpleCycles(DirectedGraph<T> graph) {
 
-		stack = new Stack<>();
-		blockedSet = new HashSet<>();
-		blockedMap = new HashMap<>();
-		results = new ArrayList<>();
-
-		Kosarajus<T> kos = new Kosarajus<>();
-		List<DirectedGraph<T>> subGraphs = kos.getStronglyConnectedComponents(graph);
-
-		for (DirectedGraph<T> subGraph : subGraphs) {
-			while (subGraph.getVertexCount() > 1) {
-				currentGraph = subGraph;
-				startVertex = subGraph.getAllVertices().get(0);
-				stack.push(startVertex);
-				blockedSet.add(startVertex);
-				explore(startVertex);
-				currentGraph.removeVertex(startVertex.getId());
-			}
-		}
+		List<DirectedGraph<T>> results = Collections.synchronizedList(new ArrayList<>());
+
+		forEachSimpleCycle(graph, (cycle, length) -> {
+			results.add(createCycleGraph(graph, cycle, length));
+			return true;
+		});
 
 		return results;
 
 	}
 
 	/**
-	 * Recursive method to traverse the graph and find cycles
+	 * Finds all the simple cycles in a compact graph<br>
+	 * Can be reused, on multiple independent graphs
 	 * 
-	 * @param currentVertex
-	 * @return true if a cycle has been found
+	 * @param graph to search for simple cycles
+	 * @return list of found cycles
 	 */
-	private boolean explore(Vertex<T> currentVertex) {
+	public List<DirectedGraph<T>> getSimpleCycles(CompactGraph graph) {
 
-		boolean foundCycle = false;
+		List<DirectedGraph<T>> results = Collections.synchronizedList(new ArrayList<>());
 
-		for (Vertex<T> neighbour : currentVertex.getAdjacentVertices()) {
-			if (neighbour.equals(startVertex)) {
-				foundCycle = true;
-				addCurrentStackToResults();
-			} else if (!blockedSet.contains(neighbour)) {
-				stack.push(neighbour);
-				blockedSet.add(neighbour);
-				boolean foundCycleInNeighbour = explore(neighbour);
-				foundCycle = foundCycle || foundCycleInNeighbour;
-			}
+		forEachSimpleCycle(graph, (cycle, length) -> {
+			results.add(createCycleGraph(null, cycle, length));
+			return true;
+		});
+
+		return results;
+
+	}
+
+	/**
+	 * Finds all the simple cycles in a graph and stores them compactly<br>
+	 * Graphs of single cycles can be created from the set on demand
+	 * 
+	 * @param graph to search for simple cycles
+	 * @return set of found cycles
+	 */
+	public CycleSet getCycleSet(DirectedGraph<T> graph) {
+		return getCycleSet(CompactGraph.fromGraph(graph));
+	}
+
+	/**
+	 * Finds all the simple cycles in a compact graph and stores them compactly
+	 * 
+	 * @param graph to search for simple cycles
+	 * @return set of found cycles
+	 */
+	public CycleSet getCycleSet(CompactGraph graph) {
+		CycleSet cycles = new CycleSet();
+		forEachSimpleCycle(graph, cycles);
+		return cycles;
+	}
+
+	/**
+	 * Hands every simple cycle in a graph over to the consumer without collecting
+	 * them
+	 * 
+	 * @param graph    to search for simple cycles
+	 * @param consumer receives the cycles, can stop the search
+	 * @return true if the search has been completed, false if the consumer
+	 *         stopped it
+	 */
+	public boolean forEachSimpleCycle(DirectedGraph<T> graph, CycleConsumer consumer) {
+		return forEachSimpleCycle(CompactGraph.fromGraph(graph), consumer);
+	}
+
+	/**
+	 * Hands every simple cycle in a compact graph over to the consumer without
+	 * collecting them
+	 * 
+	 * @param graph    to search for simple cycles
+	 * @param consumer receives the cycles, can stop the search
+	 * @return true if the search has been completed, false if the consumer
+	 *         stopped it
+	 */
+	public boolean forEachSimpleCycle(CompactGraph graph, CycleConsumer consumer) {
+
+		long startTime = metricsListener == null ? 0 : System.nanoTime();
+		StronglyConnectedComponents components = new Tarjan().getStronglyConnectedComponents(graph);
+		if (metricsListener != null)
+			metricsListener.componentsFound(components.getComponentCount(), System.nanoTime() - startTime);
+
+		if (pool != null)
+			return forEachSimpleCycleInParallel(components, consumer);
+
+		for (Iterator<CompactGraph> subGraphs = getCyclicComponents(components); subGraphs.hasNext();) {
+			if (!searchComponent(subGraphs.next(), consumer))
+				return false;
 		}
-		stack.pop();
-
-		if (foundCycle) {
-			unblock(currentVertex);
-		} else {
-			// if any neighbour gets unblocked, this node should get unblocked as well
-			for (Vertex<T> neighbour : currentVertex.getAdjacentVertices()) {
-				addBlockade(neighbour, currentVertex);
+
+		return true;
+
+	}
+
+	/**
+	 * Counts the simple cycles in a graph without creating them
+	 * 
+	 * @param graph to search for simple cycles
+	 * @return count of simple cycles
+	 */
+	public long countSimpleCycles(DirectedGraph<T> graph) {
+		return countSimpleCycles(CompactGraph.fromGraph(graph));
+	}
+
+	/**
+	 * Counts the simple cycles in a compact graph without creating them
+	 * 
+	 * @param graph to search for simple cycles
+	 * @return count of simple cycles
+	 */
+	public long countSimpleCycles(CompactGraph graph) {
+
+		LongAdder count = new LongAdder();
+
+		forEachSimpleCycle(graph, (cycle, length) -> {
+			count.increment();
+			return true;
+		});
+
+		return count.sum();
+
+	}
+
+	/**
+	 * Counts the simple cycles in a graph by their length without creating them
+	 * 
+	 * @param graph to search for simple cycles
+	 * @return count of cycles for each length, up to the longest cycle
+	 */
+	public long[] cycleLengthHistogram(DirectedGraph<T> graph) {
+		return cycleLengthHistogram(CompactGraph.fromGraph(graph));
+	}
+
+	/**
+	 * Counts the simple cycles in a compact graph by their length without
+	 * creating them
+	 * 
+	 * @param graph to search for simple cycles
+	 * @return count of cycles for each length, up to the longest cycle
+	 */
+	public long[] cycleLengthHistogram(CompactGraph graph) {
+
+		AtomicLongArray histogram = new AtomicLongArray(graph.getVertexCount() + 1);
+
+		forEachSimpleCycle(graph, (cycle, length) -> {
+			histogram.incrementAndGet(length);
+			return true;
+		});
+
+		int longest = histogram.length() - 1;
+		while (longest > 0 && histogram.get(longest) == 0)
+			longest--;
+
+		long[] counts = new long[longest + 1];
+		for (int length = 1; length <= longest; length++)
+			counts[length] = histogram.get(length);
+		return counts;
+
+	}
+
+	/**
+	 * Lazily finds the simple cycles in a graph<br>
+	 * Every cycle is searched for when the Stream requests it
+	 * 
+	 * @param graph to search for simple cycles
+	 * @return Stream of cycles as Vertex ids
+	 */
+	public Stream<int[]> simpleCycles(DirectedGraph<T> graph) {
+		return simpleCycles(CompactGraph.fromGraph(graph));
+	}
+
+	/**
+	 * Lazily finds the simple cycles in a compact graph<br>
+	 * Every cycle is searched for when the Stream requests it
+	 * 
+	 * @param graph to search for simple cycles
+	 * @return Stream of cycles as Vertex ids
+	 */
+	public Stream<int[]> simpleCycles(CompactGraph graph) {
+		StronglyConnectedComponents components = new Tarjan().getStronglyConnectedComponents(graph);
+		return StreamSupport.stream(new CycleSpliterator(getCyclicComponents(components), maxLength), false);
+	}
+
+	/**
+	 * Searches the cyclic components in the pool, largest first, and waits for
+	 * all of them<br>
+	 * Every component is split into batches of start Vertices, so a single large
+	 * component is searched by all threads
+	 * 
+	 * @param components to search
+	 * @param consumer   receives the cycles from all threads
+	 * @return true if the search has been completed, false if the consumer
+	 *         stopped it
+	 */
+	private boolean forEachSimpleCycleInParallel(StronglyConnectedComponents components,
+			CycleConsumer consumer) {
+
+		AtomicBoolean stopped = new AtomicBoolean();
+		CycleConsumer sharedConsumer = (cycle, length) -> {
+			if (stopped.get() || !consumer.accept(cycle, length)) {
+				stopped.set(true);
+				return false;
 			}
+			return true;
+		};
+
+		int[] largestFirst = IntStream.range(0, components.getComponentCount())
+				.filter(components::isCyclic)
+				.boxed()
+				.sorted(Comparator.comparingInt(components::getComponentSize).reversed())
+				.mapToInt(Integer::intValue)
+				.toArray();
+
+		List<ForkJoinTask<?>> tasks = new ArrayList<>();
+		for (int component : largestFirst) {
+			tasks.add(pool.submit(() -> {
+				if (stopped.get())
+					return;
+				CompactGraph subGraph = components.getSubGraph(component);
+				int vertexCount = subGraph.getVertexCount();
+				int batchSize = vertexCount < MIN_SPLIT_SIZE ? vertexCount
+						: Math.max(1, vertexCount / (pool.getParallelism() * BATCHES_PER_THREAD));
+				long startTime = metricsListener == null ? 0 : System.nanoTime();
+				SearchStatistics total = metricsListener == null ? null : new SearchStatistics();
+				new CycleSearchTask(subGraph, 0, vertexCount, batchSize, maxLength, sharedConsumer, stopped,
+						metricsListener, total).invoke();
+				if (metricsListener != null)
+					metricsListener.componentSearched(vertexCount, total, System.nanoTime() - startTime);
+			}));
 		}
+		tasks.forEach(ForkJoinTask::join);
 
-		return foundCycle;
+		return !stopped.get();
 
 	}
 
 	/**
-	 * Removes the Vertex from the blocked set and map
+	 * Finds all cycles in a strongly connected component, with its own blocked
+	 * set and stack
 	 * 
-	 * @param vertex
+	 * @param subGraph component to search
+	 * @param consumer receives the cycles
+	 * @return false if the consumer stopped the search
 	 */
-	private void unblock(Vertex<T> vertex) {
-		blockedSet.remove(vertex);
-		Set<Vertex<T>> waitingList = blockedMap.get(vertex);
-		if (waitingList == null)
-			return;
-		for (Vertex<T> waitingVertex : waitingList)
-			unblock(waitingVertex);
-		blockedMap.remove(vertex);
+	private boolean searchComponent(CompactGraph subGraph, CycleConsumer consumer) {
+		long startTime = metricsListener == null ? 0 : System.nanoTime();
+		SearchStatistics total = metricsListener == null ? null : new SearchStatistics();
+		int vertexCount = subGraph.getVertexCount();
+		boolean completed = new CycleSearch(subGraph, maxLength, metricsListener != null).searchRange(0, vertexCount, consumer, null,
+				metricsListener, total);
+		if (metricsListener != null)
+			metricsListener.componentSearched(vertexCount, total, System.nanoTime() - startTime);
+		return completed;
 	}
 
 	/**
-	 * Adds a Vertex which blocks another one to the blocked map
+	 * Selects the strongly connected components, which may contain a cycle
 	 * 
-	 * @param blockingVertex
-	 * @param blockedVertex
+	 * @param components of the graph
+	 * @return Subgraphs of the components with more than one Vertex or a self
+	 *         loop, each created when it is requested
 	 */
-	private void addBlockade(Vertex<T> blockingVertex, Vertex<T> blockedVertex) {
-		if (!blockedMap.containsKey(blockingVertex)) {
-			blockedMap.put(blockingVertex, new HashSet<>());
-		}
-		blockedMap.get(blockingVertex).add(blockedVertex);
+	private Iterator<CompactGraph> getCyclicComponents(StronglyConnectedComponents components) {
+		return IntStream.range(0, components.getComponentCount())
+				.filter(components::isCyclic)
+				.mapToObj(components::getSubGraph)
+				.iterator();
 	}
 
 	/**
-	 * Adds the current stack to the results as a cycle
+	 * Creates a Graph from a cycle of Vertex ids
+	 * 
+	 * @param graph  to copy the Vertices from, null to create empty Vertices
+	 * @param cycle  ids in order of the cycle
+	 * @param length count of Vertices in the cycle
+	 * @return Graph of the cycle
 	 */
-	private void addCurrentStackToResults() {
+	static <T> DirectedGraph<T> createCycleGraph(DirectedGraph<T> graph, int[] cycle, int length) {
 
 		DirectedGraph<T> cycleGraph = new DirectedGraph<>();
 
-		// create a graph (cycle) from stack with deep copied Vertices
-		Vertex<T> from = stack.get(0).cloneWithoutEdges();
-		int firstId = from.getId();
-		cycleGraph.addVertex(from);
-		for (int i = 1; i < stack.size(); i++) {
-			Vertex<T> to = stack.get(i).cloneWithoutEdges();
-			cycleGraph.addVertex(to);
-			cycleGraph.addEdge(from.getId(), to.getId());
-			from = to;
+		// create a graph (cycle) with deep copied Vertices
+		for (int i = 0; i < length; i++) {
+			if (graph == null)
+				cycleGraph.addSingleVertex(cycle[i]);
+			else
+				cycleGraph.addVertex(graph.getVertex(cycle[i]).cloneWithoutEdges());
 		}
-		cycleGraph.addEdge(from.getId(), firstId);
+		for (int i = 0; i < length; i++)
+			cycleGraph.addEdge(cycle[i], cycle[(i + 1) % length]);
 
-		// save Graph to found cycles
-		results.add(cycleGraph);
+		return cycleGraph;
 
 	}
 
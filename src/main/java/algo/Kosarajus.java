@@ -2,12 +2,14 @@ package algo;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Deque;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import graphs.CompactGraph;
 import graphs.DirectedGraph;
 import graphs.Vertex;
 
@@ -27,7 +29,20 @@ public class Kosarajus<T> {
 	// list of strongly connected components found by algorithm
 	private List<Set<Integer>> result = new ArrayList<>();
 	DirectedGraph<T> graph;
-	DirectedGraph<T> reversedGraph;
+	// compact transpose of graph, only kept during a search
+	CompactGraph reversedGraph;
+	// receives the measurements if set
+	private MetricsListener metricsListener;
+
+	/**
+	 * Sets the listener to measure the searches<br>
+	 * Reports the count of components and the time to find them
+	 * 
+	 * @param metricsListener to receive the measurements, null to measure nothing
+	 */
+	public void setMetricsListener(MetricsListener metricsListener) {
+		this.metricsListener = metricsListener;
+	}
 
 	/**
 	 * Method to find all strongly-connected components in a directed graph
@@ -38,9 +53,11 @@ public class Kosarajus<T> {
 	 */
 	public List<DirectedGraph<T>> getStronglyConnectedComponents(DirectedGraph<T> inputGraph) {
 
-		// clone graph to not modify inputGraph
-		graph = inputGraph.clone();
-		reversedGraph = graph.getReversed();
+		long startTime = metricsListener == null ? 0 : System.nanoTime();
+
+		// inputGraph is only read, its Edges are reversed into a compact copy
+		graph = inputGraph;
+		reversedGraph = CompactGraph.transposeOf(inputGraph);
 		result.clear();
 		visited = new HashSet<>();
 		stack = new ArrayDeque<>();
@@ -67,9 +84,97 @@ public class Kosarajus<T> {
 			}
 		}
 
-		return result.stream()
+		reversedGraph = null;
+		List<DirectedGraph<T>> components = result.stream()
 				.map(set -> graph.getSubGraph(set))
 				.collect(Collectors.toList());
+		if (metricsListener != null)
+			metricsListener.componentsFound(components.size(), System.nanoTime() - startTime);
+		return components;
+	}
+
+	/**
+	 * Method to find all strongly-connected components in a compact graph<br>
+	 * Both depth searches keep their own stack, so the recursion depth doesn't
+	 * depend on the size of the graph
+	 * 
+	 * @param inputGraph
+	 * @return Returns a list of subgraphs that represent the strongly-connected
+	 *         components
+	 */
+	public List<CompactGraph> getStronglyConnectedComponents(CompactGraph inputGraph) {
+
+		long startTime = metricsListener == null ? 0 : System.nanoTime();
+		int vertexCount = inputGraph.getVertexCount();
+		CompactGraph reversed = inputGraph.getTransposed();
+
+		boolean[] visitedIndices = new boolean[vertexCount];
+		int[] finished = new int[vertexCount];
+		int finishedCount = 0;
+		int[] vertexStack = new int[vertexCount];
+		int[] edgeStack = new int[vertexCount];
+
+		// depthSearch on all vertices not visited, saving them in order of finishing
+		for (int root = 0; root < vertexCount; root++) {
+			if (visitedIndices[root])
+				continue;
+			int depth = 0;
+			visitedIndices[root] = true;
+			vertexStack[0] = root;
+			edgeStack[0] = inputGraph.getEdgeStart(root);
+			while (depth >= 0) {
+				int vertex = vertexStack[depth];
+				if (edgeStack[depth] < inputGraph.getEdgeEnd(vertex)) {
+					int next = inputGraph.getTarget(edgeStack[depth]++);
+					if (!visitedIndices[next]) {
+						visitedIndices[next] = true;
+						depth++;
+						vertexStack[depth] = next;
+						edgeStack[depth] = inputGraph.getEdgeStart(next);
+					}
+				} else {
+					finished[finishedCount++] = vertex;
+					depth--;
+				}
+			}
+		}
+
+		// second part of algorithm begins
+
+		// set all vertices to not visited
+		Arrays.fill(visitedIndices, false);
+
+		List<CompactGraph> components = new ArrayList<>();
+		int[] component = new int[vertexCount];
+
+		// depthSearch on the reversed graph in reverse finishing order
+		for (int i = finishedCount - 1; i >= 0; i--) {
+			int root = finished[i];
+			if (visitedIndices[root])
+				continue;
+			int componentSize = 0;
+			int stackSize = 0;
+			visitedIndices[root] = true;
+			vertexStack[stackSize++] = root;
+			while (stackSize > 0) {
+				int vertex = vertexStack[--stackSize];
+				component[componentSize++] = vertex;
+				for (int edge = reversed.getEdgeStart(vertex); edge < reversed.getEdgeEnd(vertex); edge++) {
+					int next = reversed.getTarget(edge);
+					if (!visitedIndices[next]) {
+						visitedIndices[next] = true;
+						vertexStack[stackSize++] = next;
+					}
+				}
+			}
+			int[] indices = Arrays.copyOf(component, componentSize);
+			Arrays.sort(indices);
+			components.add(inputGraph.getSubGraph(indices));
+		}
+
+		if (metricsListener != null)
+			metricsListener.componentsFound(components.size(), System.nanoTime() - startTime);
+		return components;
 	}
 
 	/**
@@ -96,8 +201,9 @@ public class Kosarajus<T> {
 	private void buildSet(int vertexId) {
 		visited.add(vertexId);
 		set.add(vertexId);
-		for (Vertex<T> current : reversedGraph.getVertex(vertexId).getAdjacentVertices()) {
-			int currentID = current.getId();
+		int index = reversedGraph.indexOf(vertexId);
+		for (int edge = reversedGraph.getEdgeStart(index); edge < reversedGraph.getEdgeEnd(index); edge++) {
+			int currentID = reversedGraph.getId(reversedGraph.getTarget(edge));
 			if (!visited.contains(currentID)) {
 				buildSet(currentID);
 			}
@@ -0,0 +1,40 @@
+package algo;
+
+/**
+ * Receives measurements of the searches in {@link Johnson} and
+ * {@link Kosarajus}<br>
+ * Nothing is measured while no listener is set. With a pool, the methods are
+ * called from multiple threads at once and have to be thread-safe
+ */
+public interface MetricsListener {
+
+	/**
+	 * Called after the strongly connected components have been found
+	 * 
+	 * @param componentCount count of components
+	 * @param nanos          time of the detection
+	 */
+	default void componentsFound(int componentCount, long nanos) {
+	}
+
+	/**
+	 * Called after all cycles through a start Vertex have been found
+	 * 
+	 * @param vertexId   id of the start Vertex
+	 * @param statistics counters of this start Vertex
+	 * @param nanos      time of the search
+	 */
+	default void startVertexSearched(int vertexId, SearchStatistics statistics, long nanos) {
+	}
+
+	/**
+	 * Called after all cycles in a strongly connected component have been found
+	 * 
+	 * @param vertexCount count of Vertices in the component
+	 * @param statistics  counters summed up over all start Vertices
+	 * @param nanos       time of the search
+	 */
+	default void componentSearched(int vertexCount, SearchStatistics statistics, long nanos) {
+	}
+
+}
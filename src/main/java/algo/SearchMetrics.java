@@ -0,0 +1,140 @@
+package algo;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Thread-safe totals of all measurements, which can be registered as JMX MBean
+ */
+public class SearchMetrics implements MetricsListener, SearchMetricsMBean {
+
+	private long componentDetections;
+	private long componentDetectionNanos;
+	private long componentsFound;
+	private long componentsSearched;
+	private long startVerticesSearched;
+	private long searchNanos;
+	private long maxComponentNanos;
+	private long maxStartVertexNanos;
+	private SearchStatistics statistics = new SearchStatistics();
+
+	/**
+	 * Registers the metrics at the platform MBean server as
+	 * algo:type=SearchMetrics,name=&lt;name&gt;
+	 * 
+	 * @param name to register the metrics with
+	 * @return name of the MBean
+	 * @throws JMException if the MBean can't be registered
+	 */
+	public ObjectName register(String name) throws JMException {
+		ObjectName objectName = new ObjectName("algo:type=SearchMetrics,name=" + ObjectName.quote(name));
+		ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+		return objectName;
+	}
+
+	@Override
+	public synchronized void componentsFound(int componentCount, long nanos) {
+		componentDetections++;
+		componentDetectionNanos += nanos;
+		componentsFound += componentCount;
+	}
+
+	@Override
+	public synchronized void startVertexSearched(int vertexId, SearchStatistics statistics, long nanos) {
+		startVerticesSearched++;
+		maxStartVertexNanos = Math.max(maxStartVertexNanos, nanos);
+		this.statistics.add(statistics);
+	}
+
+	@Override
+	public synchronized void componentSearched(int vertexCount, SearchStatistics statistics, long nanos) {
+		componentsSearched++;
+		searchNanos += nanos;
+		maxComponentNanos = Math.max(maxComponentNanos, nanos);
+	}
+
+	@Override
+	public synchronized long getComponentDetections() {
+		return componentDetections;
+	}
+
+	@Override
+	public synchronized long getComponentDetectionNanos() {
+		return componentDetectionNanos;
+	}
+
+	@Override
+	public synchronized long getComponentsFound() {
+		return componentsFound;
+	}
+
+	@Override
+	public synchronized long getComponentsSearched() {
+		return componentsSearched;
+	}
+
+	@Override
+	public synchronized long getStartVerticesSearched() {
+		return startVerticesSearched;
+	}
+
+	@Override
+	public synchronized long getVerticesVisited() {
+		return statistics.getVerticesVisited();
+	}
+
+	@Override
+	public synchronized long getEdgesScanned() {
+		return statistics.getEdgesScanned();
+	}
+
+	@Override
+	public synchronized long getUnblockCascades() {
+		return statistics.getUnblockCascades();
+	}
+
+	@Override
+	public synchronized long getCyclesEmitted() {
+		return statistics.getCyclesEmitted();
+	}
+
+	@Override
+	public synchronized int getMaxStackDepth() {
+		return statistics.getMaxStackDepth();
+	}
+
+	/**
+	 * @return time of all component searches summed up, may exceed the wall time
+	 *         in parallel searches
+	 */
+	@Override
+	public synchronized long getSearchNanos() {
+		return searchNanos;
+	}
+
+	@Override
+	public synchronized long getMaxComponentNanos() {
+		return maxComponentNanos;
+	}
+
+	@Override
+	public synchronized long getMaxStartVertexNanos() {
+		return maxStartVertexNanos;
+	}
+
+	@Override
+	public synchronized void reset() {
+		componentDetections = 0;
+		componentDetectionNanos = 0;
+		componentsFound = 0;
+		componentsSearched = 0;
+		startVerticesSearched = 0;
+		searchNanos = 0;
+		maxComponentNanos = 0;
+		maxStartVertexNanos = 0;
+		statistics = new SearchStatistics();
+	}
+
+}
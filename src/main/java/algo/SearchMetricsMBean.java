@@ -0,0 +1,36 @@
+package algo;
+
+/**
+ * Management interface of {@link SearchMetrics}
+ */
+public interface SearchMetricsMBean {
+
+	long getComponentDetections();
+
+	long getComponentDetectionNanos();
+
+	long getComponentsFound();
+
+	long getComponentsSearched();
+
+	long getStartVerticesSearched();
+
+	long getVerticesVisited();
+
+	long getEdgesScanned();
+
+	long getUnblockCascades();
+
+	long getCyclesEmitted();
+
+	int getMaxStackDepth();
+
+	long getSearchNanos();
+
+	long getMaxComponentNanos();
+
+	long getMaxStartVertexNanos();
+
+	void reset();
+
+}
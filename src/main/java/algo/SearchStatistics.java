@@ -0,0 +1,78 @@
+package algo;
+
+/**
+ * Counters of a cycle search, either of a single start Vertex or summed up
+ * over a strongly connected component
+ */
+public class SearchStatistics {
+
+	private long verticesVisited;
+	private long edgesScanned;
+	private long unblockCascades;
+	private long cyclesEmitted;
+	private int maxStackDepth;
+
+	/**
+	 * Creates new counters
+	 * 
+	 * @param verticesVisited count of Vertices pushed onto the stack
+	 * @param edgesScanned    count of Edges looked at
+	 * @param unblockCascades count of unblock or lock relaxation cascades
+	 * @param cyclesEmitted   count of found cycles
+	 * @param maxStackDepth   largest count of Vertices on the stack
+	 */
+	SearchStatistics(long verticesVisited, long edgesScanned, long unblockCascades, long cyclesEmitted,
+			int maxStackDepth) {
+		this.verticesVisited = verticesVisited;
+		this.edgesScanned = edgesScanned;
+		this.unblockCascades = unblockCascades;
+		this.cyclesEmitted = cyclesEmitted;
+		this.maxStackDepth = maxStackDepth;
+	}
+
+	/**
+	 * Creates counters starting at zero
+	 */
+	SearchStatistics() {
+	}
+
+	/**
+	 * Adds the counters of another search, may be called from multiple threads
+	 * 
+	 * @param other counters to add
+	 */
+	synchronized void add(SearchStatistics other) {
+		verticesVisited += other.verticesVisited;
+		edgesScanned += other.edgesScanned;
+		unblockCascades += other.unblockCascades;
+		cyclesEmitted += other.cyclesEmitted;
+		maxStackDepth = Math.max(maxStackDepth, other.maxStackDepth);
+	}
+
+	public synchronized long getVerticesVisited() {
+		return verticesVisited;
+	}
+
+	public synchronized long getEdgesScanned() {
+		return edgesScanned;
+	}
+
+	public synchronized long getUnblockCascades() {
+		return unblockCascades;
+	}
+
+	public synchronized long getCyclesEmitted() {
+		return cyclesEmitted;
+	}
+
+	public synchronized int getMaxStackDepth() {
+		return maxStackDepth;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return String.format("vertices visited: %d, edges scanned: %d, unblock cascades: %d, cycles: %d, max depth: %d",
+				verticesVisited, edgesScanned, unblockCascades, cyclesEmitted, maxStackDepth);
+	}
+
+}
@@ -0,0 +1,132 @@
+package algo;
+
+import java.util.Arrays;
+
+import graphs.CompactGraph;
+
+/**
+ * Strongly connected components of a compact graph<br>
+ * Components are numbered in reverse topological order, so no Edge leads from
+ * a component to one with a higher number. The Vertices of each component and
+ * its Subgraph are only created on request.
+ */
+public class StronglyConnectedComponents {
+
+	private final CompactGraph graph;
+	private final int[] componentOf;
+	private final int componentCount;
+
+	// Vertices grouped by component, created on first request
+	private int[] memberOffsets;
+	private int[] members;
+
+	/**
+	 * Creates a new result
+	 * 
+	 * @param graph          which has been split
+	 * @param componentOf    component of every Vertex index
+	 * @param componentCount count of components
+	 */
+	StronglyConnectedComponents(CompactGraph graph, int[] componentOf, int componentCount) {
+		this.graph = graph;
+		this.componentOf = componentOf;
+		this.componentCount = componentCount;
+	}
+
+	/**
+	 * @return the Graph, which has been split
+	 */
+	public CompactGraph getGraph() {
+		return graph;
+	}
+
+	/**
+	 * @return count of components
+	 */
+	public int getComponentCount() {
+		return componentCount;
+	}
+
+	/**
+	 * Returns the component of a Vertex
+	 * 
+	 * @param index of the Vertex
+	 * @return number of the component
+	 */
+	public int componentOf(int index) {
+		return componentOf[index];
+	}
+
+	/**
+	 * @return copy of the component of every Vertex index
+	 */
+	public int[] getComponentOf() {
+		return componentOf.clone();
+	}
+
+	/**
+	 * @param component number of the component
+	 * @return count of Vertices in the component
+	 */
+	public int getComponentSize(int component) {
+		groupMembers();
+		return memberOffsets[component + 1] - memberOffsets[component];
+	}
+
+	/**
+	 * Checks if a component can contain a cycle
+	 * 
+	 * @param component number of the component
+	 * @return true if the component has more than one Vertex or a self loop
+	 */
+	public boolean isCyclic(int component) {
+		groupMembers();
+		if (getComponentSize(component) > 1)
+			return true;
+		int vertex = members[memberOffsets[component]];
+		return graph.hasEdge(vertex, vertex);
+	}
+
+	/**
+	 * @param component number of the component
+	 * @return Vertex indices of the component in ascending order
+	 */
+	public int[] getMembers(int component) {
+		groupMembers();
+		return Arrays.copyOfRange(members, memberOffsets[component], memberOffsets[component + 1]);
+	}
+
+	/**
+	 * Creates the Subgraph of a component
+	 * 
+	 * @param component number of the component
+	 * @return Subgraph induced by the Vertices of the component
+	 */
+	public CompactGraph getSubGraph(int component) {
+		return graph.getSubGraph(getMembers(component));
+	}
+
+	/**
+	 * Groups the Vertices by component with a counting sort
+	 */
+	private synchronized void groupMembers() {
+
+		if (members != null)
+			return;
+
+		int[] offsets = new int[componentCount + 1];
+		for (int component : componentOf)
+			offsets[component + 1]++;
+		for (int i = 0; i < componentCount; i++)
+			offsets[i + 1] += offsets[i];
+
+		int[] position = Arrays.copyOf(offsets, componentCount);
+		int[] grouped = new int[componentOf.length];
+		for (int vertex = 0; vertex < componentOf.length; vertex++)
+			grouped[position[componentOf[vertex]]++] = vertex;
+
+		memberOffsets = offsets;
+		members = grouped;
+	}
+
+}
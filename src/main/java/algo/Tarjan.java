@@ -0,0 +1,150 @@
+package algo;
+
+import java.util.Arrays;
+
+import graphs.CompactGraph;
+import graphs.DirectedGraph;
+
+/**
+ * Tarjan's algorithm to find strongly connected components in a graph, in the
+ * space efficient variant by Pearce<br>
+ * Runs in a single iterative depth search over primitive arrays, without
+ * building a reversed graph
+ */
+public class Tarjan {
+
+	// if a Vertex is the root of its component
+	private boolean[] root;
+	// Vertices waiting for their component to be completed
+	private int[] waiting;
+	// frames of the depth search
+	private int[] callStack;
+	private int[] cursors;
+
+	/**
+	 * Method to find all strongly-connected components in a directed graph
+	 * 
+	 * @param graph to search
+	 * @return the component of every Vertex
+	 */
+	public StronglyConnectedComponents getStronglyConnectedComponents(DirectedGraph<?> graph) {
+		return getStronglyConnectedComponents(CompactGraph.fromGraph(graph));
+	}
+
+	/**
+	 * Method to find all strongly-connected components in a compact graph
+	 * 
+	 * @param graph to search
+	 * @return the component of every Vertex
+	 */
+	public StronglyConnectedComponents getStronglyConnectedComponents(CompactGraph graph) {
+		int[] componentOf = new int[graph.getVertexCount()];
+		int componentCount = findComponents(graph, 0, componentOf);
+		return new StronglyConnectedComponents(graph, componentOf, componentCount);
+	}
+
+	/**
+	 * Finds the strongly-connected components of the Subgraph induced by all
+	 * Vertices with an index of at least minIndex<br>
+	 * The working arrays are kept, so repeated calls on the same graph don't
+	 * allocate
+	 * 
+	 * @param graph       to search
+	 * @param minIndex    least index of the Subgraph
+	 * @param componentOf receives the component of every Vertex in the Subgraph,
+	 *                    entries below minIndex are left untouched
+	 * @return count of components
+	 */
+	int findComponents(CompactGraph graph, int minIndex, int[] componentOf) {
+
+		int vertexCount = graph.getVertexCount();
+		ensureCapacity(vertexCount);
+
+		// visiting order while active, component counted down from the end when done
+		int[] rindex = componentOf;
+		Arrays.fill(rindex, minIndex, vertexCount, 0);
+		int waitingCount = 0;
+
+		int index = 1;
+		int component = vertexCount - 1;
+
+		for (int start = minIndex; start < vertexCount; start++) {
+
+			if (rindex[start] != 0)
+				continue;
+
+			int depth = 0;
+			callStack[0] = start;
+			cursors[0] = graph.getEdgeStart(start);
+			root[start] = true;
+			rindex[start] = index++;
+
+			while (depth >= 0) {
+
+				int vertex = callStack[depth];
+
+				if (cursors[depth] < graph.getEdgeEnd(vertex)) {
+					int next = graph.getTarget(cursors[depth]++);
+					if (next < minIndex) {
+						continue;
+					} else if (rindex[next] == 0) {
+						// descend into the unvisited neighbour
+						depth++;
+						callStack[depth] = next;
+						cursors[depth] = graph.getEdgeStart(next);
+						root[next] = true;
+						rindex[next] = index++;
+					} else if (rindex[next] < rindex[vertex]) {
+						rindex[vertex] = rindex[next];
+						root[vertex] = false;
+					}
+					continue;
+				}
+
+				// all neighbours are done
+				depth--;
+
+				if (root[vertex]) {
+					index--;
+					while (waitingCount > 0 && rindex[vertex] <= rindex[waiting[waitingCount - 1]]) {
+						rindex[waiting[--waitingCount]] = component;
+						index--;
+					}
+					rindex[vertex] = component--;
+				} else {
+					waiting[waitingCount++] = vertex;
+				}
+
+				// pass the lowest reachable index on to the parent
+				if (depth >= 0) {
+					int parent = callStack[depth];
+					if (rindex[vertex] < rindex[parent]) {
+						rindex[parent] = rindex[vertex];
+						root[parent] = false;
+					}
+				}
+			}
+		}
+
+		// number the components in the order they have been completed
+		for (int vertex = minIndex; vertex < vertexCount; vertex++)
+			rindex[vertex] = vertexCount - 1 - rindex[vertex];
+
+		return vertexCount - 1 - component;
+	}
+
+	/**
+	 * Grows the working arrays to the size of the graph
+	 * 
+	 * @param vertexCount of the graph
+	 */
+	private void ensureCapacity(int vertexCount) {
+		if (root != null && root.length >= vertexCount)
+			return;
+		root = new boolean[vertexCount];
+		waiting = new int[vertexCount];
+		callStack = new int[vertexCount];
+		cursors = new int[vertexCount];
+	}
+
+}
@@ -0,0 +1,51 @@
+package generators;
+
+import graphs.EdgeHandler;
+
+/**
+ * Complete Graph K_n: every Vertex has an Edge to every other Vertex
+ */
+public class CompleteGraphGenerator implements GraphGenerator {
+
+	private final int vertexCount;
+
+	/**
+	 * Creates a new generator
+	 * 
+	 * @param vertexCount count of Vertices, with ids 0 .. n-1
+	 */
+	public CompleteGraphGenerator(int vertexCount) {
+		if (vertexCount < 0)
+			throw new IllegalArgumentException("Invalid vertex count: " + vertexCount);
+		this.vertexCount = vertexCount;
+	}
+
+	@Override
+	public void generate(EdgeHandler handler) {
+		for (int from = 0; from < vertexCount; from++) {
+			for (int to = 0; to < vertexCount; to++) {
+				if (from != to)
+					handler.edge(from, to);
+			}
+		}
+	}
+
+	/**
+	 * Count of simple cycles in K_n: every choice of k Vertices forms (k-1)!
+	 * cycles, summed over k = 2 .. n
+	 * 
+	 * @return count of simple cycles
+	 * @throws ArithmeticException - if the count doesn't fit into a long
+	 */
+	public long getCycleCount() {
+		long count = 0;
+		// cycles with k Vertices: n! / ((n - k)! k)
+		long permutations = vertexCount;
+		for (int k = 2; k <= vertexCount; k++) {
+			permutations = Math.multiplyExact(permutations, vertexCount - k + 1);
+			count = Math.addExact(count, permutations / k);
+		}
+		return count;
+	}
+
+}
@@ -0,0 +1,53 @@
+package generators;
+
+import graphs.EdgeHandler;
+
+/**
+ * Many small strongly connected components chained into a DAG<br>
+ * Every component is a ring and has one Edge to the next component, so the
+ * Graph contains exactly one cycle per component
+ */
+public class ComponentChainGenerator implements GraphGenerator {
+
+	private final int componentCount;
+	private final int componentSize;
+
+	/**
+	 * Creates a new generator
+	 * 
+	 * @param componentCount count of components
+	 * @param componentSize  count of Vertices in every component, at least 2
+	 */
+	public ComponentChainGenerator(int componentCount, int componentSize) {
+		if (componentCount < 0 || componentSize < 2)
+			throw new IllegalArgumentException("Invalid chain parameters: " + componentCount + ", " + componentSize);
+		this.componentCount = componentCount;
+		this.componentSize = componentSize;
+	}
+
+	@Override
+	public void generate(EdgeHandler handler) {
+		for (int component = 0; component < componentCount; component++) {
+			int first = component * componentSize;
+			for (int i = 0; i < componentSize; i++)
+				handler.edge(first + i, first + (i + 1) % componentSize);
+			if (component + 1 < componentCount)
+				handler.edge(first + componentSize - 1, first + componentSize);
+		}
+	}
+
+	/**
+	 * @return count of strongly connected components
+	 */
+	public int getComponentCount() {
+		return componentCount;
+	}
+
+	/**
+	 * @return count of simple cycles
+	 */
+	public long getCycleCount() {
+		return componentCount;
+	}
+
+}
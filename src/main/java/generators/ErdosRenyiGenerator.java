@@ -0,0 +1,63 @@
+package generators;
+
+import java.util.Random;
+
+import graphs.EdgeHandler;
+
+/**
+ * Random Graph G(n, p): every Edge between two different Vertices exists with
+ * the same probability<br>
+ * The gaps between Edges are drawn from a geometric distribution, so
+ * generating takes time proportional to the count of Edges instead of n²
+ */
+public class ErdosRenyiGenerator implements GraphGenerator {
+
+	private final int vertexCount;
+	private final double edgeProbability;
+	private final long seed;
+
+	/**
+	 * Creates a new generator
+	 * 
+	 * @param vertexCount     count of Vertices, with ids 0 .. n-1
+	 * @param edgeProbability probability of each Edge
+	 * @param seed            of the random numbers
+	 */
+	public ErdosRenyiGenerator(int vertexCount, double edgeProbability, long seed) {
+		if (vertexCount < 0 || edgeProbability < 0 || edgeProbability > 1)
+			throw new IllegalArgumentException("Invalid G(n, p) parameters: " + vertexCount + ", " + edgeProbability);
+		this.vertexCount = vertexCount;
+		this.edgeProbability = edgeProbability;
+		this.seed = seed;
+	}
+
+	@Override
+	public void generate(EdgeHandler handler) {
+
+		if (vertexCount < 2 || edgeProbability == 0)
+			return;
+
+		Random random = new Random(seed);
+		long pairCount = (long) vertexCount * (vertexCount - 1);
+		double logComplement = Math.log(1 - edgeProbability);
+
+		// pairs are numbered row by row, leaving out the self loops
+		for (long pair = -1;;) {
+			if (edgeProbability == 1) {
+				pair++;
+			} else {
+				double skip = Math.floor(Math.log(1 - random.nextDouble()) / logComplement);
+				if (skip >= pairCount - pair - 1)
+					return;
+				pair += 1 + (long) skip;
+			}
+			if (pair >= pairCount)
+				return;
+			int from = (int) (pair / (vertexCount - 1));
+			int to = (int) (pair % (vertexCount - 1));
+			handler.edge(from, to < from ? to : to + 1);
+		}
+
+	}
+
+}
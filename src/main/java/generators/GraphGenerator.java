@@ -0,0 +1,86 @@
+package generators;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import graphs.CompactGraph;
+import graphs.DirectedGraph;
+import graphs.EdgeHandler;
+import graphs.GraphBuilder;
+
+/**
+ * Creates a synthetic Graph Edge by Edge<br>
+ * Generators are reproducible: the same parameters and seed always give the
+ * same Edges in the same order. The Edges are streamed, so a Graph can be
+ * written to a file without holding it in memory. Vertices without Edges are
+ * never emitted.
+ */
+public interface GraphGenerator {
+
+	/**
+	 * Hands every Edge of the Graph over to the handler
+	 * 
+	 * @param handler receives the Edges
+	 */
+	void generate(EdgeHandler handler);
+
+	/**
+	 * Builds the Graph in compact form
+	 * 
+	 * @return CompactGraph
+	 */
+	default CompactGraph toCompactGraph() {
+		GraphBuilder builder = new GraphBuilder();
+		generate(builder);
+		return builder.buildCompactGraph();
+	}
+
+	/**
+	 * Builds the Graph
+	 * 
+	 * @return DirectedGraph
+	 */
+	default DirectedGraph<Integer> toDirectedGraph() {
+		GraphBuilder builder = new GraphBuilder();
+		generate(builder);
+		return builder.build();
+	}
+
+	/**
+	 * Writes the Edges in the format {from, to}, one per line
+	 * 
+	 * @param out to write to
+	 * @throws IOException if writing fails
+	 */
+	default void write(Appendable out) throws IOException {
+		try {
+			generate((fromId, toId) -> {
+				try {
+					out.append('{').append(Integer.toString(fromId)).append(", ")
+							.append(Integer.toString(toId)).append("}\n");
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * Writes the Edges into a file, which can be read with
+	 * {@link DirectedGraph#fromFile(String)}
+	 * 
+	 * @param filename of the file, replaced if it exists
+	 * @throws IOException if writing fails
+	 */
+	default void writeFile(String filename) throws IOException {
+		try (BufferedWriter writer = Files.newBufferedWriter(Paths.get(filename))) {
+			write(writer);
+		}
+	}
+
+}
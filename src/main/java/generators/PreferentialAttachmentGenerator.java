@@ -0,0 +1,66 @@
+package generators;
+
+import java.util.Random;
+
+import graphs.EdgeHandler;
+
+/**
+ * Power-law Graph by preferential attachment (Barabási–Albert)<br>
+ * Every new Vertex is connected to a fixed count of existing Vertices, chosen
+ * with a probability proportional to their degree, which creates a few hubs
+ * with very high degree. Each Edge points to the new or to the old Vertex with
+ * the same probability, so the Graph contains cycles.
+ */
+public class PreferentialAttachmentGenerator implements GraphGenerator {
+
+	private final int vertexCount;
+	private final int edgesPerVertex;
+	private final long seed;
+
+	/**
+	 * Creates a new generator
+	 * 
+	 * @param vertexCount    count of Vertices, with ids 0 .. n-1
+	 * @param edgesPerVertex count of Edges of every new Vertex
+	 * @param seed           of the random numbers
+	 */
+	public PreferentialAttachmentGenerator(int vertexCount, int edgesPerVertex, long seed) {
+		if (vertexCount < 0 || edgesPerVertex < 1)
+			throw new IllegalArgumentException(
+					"Invalid preferential attachment parameters: " + vertexCount + ", " + edgesPerVertex);
+		this.vertexCount = vertexCount;
+		this.edgesPerVertex = edgesPerVertex;
+		this.seed = seed;
+	}
+
+	@Override
+	public void generate(EdgeHandler handler) {
+
+		if (vertexCount < 2)
+			return;
+
+		Random random = new Random(seed);
+
+		// both ends of every Edge, so picking a random entry picks a Vertex
+		// proportional to its degree
+		int[] endpoints = new int[Math.multiplyExact(2 * edgesPerVertex, vertexCount)];
+		int endpointCount = 0;
+
+		// the first Vertex has no one to attach to, the second attaches to it
+		for (int vertex = 1; vertex < vertexCount; vertex++) {
+			// only attach to older Vertices, duplicate Edges are dropped by the builder
+			int olderEndpoints = endpointCount;
+			for (int i = 0; i < edgesPerVertex; i++) {
+				int target = olderEndpoints == 0 ? 0 : endpoints[random.nextInt(olderEndpoints)];
+				if (random.nextBoolean())
+					handler.edge(vertex, target);
+				else
+					handler.edge(target, vertex);
+				endpoints[endpointCount++] = vertex;
+				endpoints[endpointCount++] = target;
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,54 @@
+package generators;
+
+import graphs.EdgeHandler;
+
+/**
+ * Rings connected into one large ring<br>
+ * Every small ring is entered at its first Vertex and left from its middle
+ * Vertex, so besides the small rings there is exactly one cycle through all of
+ * them. It is as long as the large ring and half of every small ring, which
+ * makes it a deep search with a known result.
+ */
+public class RingOfRingsGenerator implements GraphGenerator {
+
+	private final int ringCount;
+	private final int ringSize;
+
+	/**
+	 * Creates a new generator
+	 * 
+	 * @param ringCount count of small rings, at least 2
+	 * @param ringSize  count of Vertices in every small ring, at least 2
+	 */
+	public RingOfRingsGenerator(int ringCount, int ringSize) {
+		if (ringCount < 2 || ringSize < 2)
+			throw new IllegalArgumentException("Invalid ring parameters: " + ringCount + ", " + ringSize);
+		this.ringCount = ringCount;
+		this.ringSize = ringSize;
+	}
+
+	@Override
+	public void generate(EdgeHandler handler) {
+		for (int ring = 0; ring < ringCount; ring++) {
+			int first = ring * ringSize;
+			for (int i = 0; i < ringSize; i++)
+				handler.edge(first + i, first + (i + 1) % ringSize);
+			handler.edge(first + ringSize / 2, (ring + 1) % ringCount * ringSize);
+		}
+	}
+
+	/**
+	 * @return count of simple cycles
+	 */
+	public long getCycleCount() {
+		return ringCount + 1;
+	}
+
+	/**
+	 * @return count of Vertices in the cycle through all rings
+	 */
+	public int getLongestCycleLength() {
+		return ringCount * (ringSize / 2 + 1);
+	}
+
+}
@@ -0,0 +1,445 @@
+package graphs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Immutable Graph in compressed sparse row layout<br>
+ * Vertices are addressed by dense indices 0 .. n-1, which are ordered by
+ * ascending Vertex id. The Edges of the Vertex with index i are stored in
+ * targets[offsets[i]] .. targets[offsets[i + 1] - 1], sorted by target index.
+ * Graphs built in memory keep the arrays on the heap. A snapshot file is
+ * mapped instead of copied, see {@link #fromSnapshot(String)}, and read
+ * through a subclass, which only exists once a snapshot is loaded.
+ */
+public class CompactGraph {
+
+	// dense index -> Vertex id, ascending
+	private final int[] ids;
+	// first Edge of each Vertex, offsets[n] is the Edge count
+	private final int[] offsets;
+	// target index of each Edge
+	private final int[] targets;
+
+	/**
+	 * Creates a new CompactGraph from already prepared arrays
+	 *
+	 * @param ids     Vertex ids in ascending order
+	 * @param offsets Edge offsets, one more than there are Vertices
+	 * @param targets target indices, sorted and unique per Vertex
+	 */
+	CompactGraph(int[] ids, int[] offsets, int[] targets) {
+		this.ids = ids;
+		this.offsets = offsets;
+		this.targets = targets;
+	}
+
+	/**
+	 * Get the count of all Vertices
+	 *
+	 * @return count of Vertices
+	 */
+	public int getVertexCount() {
+		return ids.length;
+	}
+
+	/**
+	 * Get the count of all Edges
+	 *
+	 * @return count of Edges
+	 */
+	public int getEdgeCount() {
+		return targets.length;
+	}
+
+	/**
+	 * Returns the Vertex id of a dense index
+	 *
+	 * @param index of the Vertex
+	 * @return id of the Vertex
+	 */
+	public int getId(int index) {
+		return ids[index];
+	}
+
+	/**
+	 * Returns the dense index of a Vertex id
+	 *
+	 * @param id to look for
+	 * @return index of the Vertex or -1 if the id was not found
+	 */
+	public int indexOf(int id) {
+		int index = Arrays.binarySearch(ids, id);
+		return index < 0 ? -1 : index;
+	}
+
+	/**
+	 * @param index of the Vertex
+	 * @return position of the first outgoing Edge of the Vertex
+	 */
+	public int getEdgeStart(int index) {
+		return offsets[index];
+	}
+
+	/**
+	 * @param index of the Vertex
+	 * @return position after the last outgoing Edge of the Vertex
+	 */
+	public int getEdgeEnd(int index) {
+		return offsets[index + 1];
+	}
+
+	/**
+	 * @param edge position of the Edge
+	 * @return target index of the Edge
+	 */
+	public int getTarget(int edge) {
+		return targets[edge];
+	}
+
+	/**
+	 * @param index of the Vertex
+	 * @return count of outgoing Edges of the Vertex
+	 */
+	public int getDegree(int index) {
+		return offsets[index + 1] - offsets[index];
+	}
+
+	/**
+	 * Checks if there is an Edge between two Vertices
+	 *
+	 * @param from source index
+	 * @param to   destination index
+	 * @return true if the Edge exists
+	 */
+	public boolean hasEdge(int from, int to) {
+		return Arrays.binarySearch(targets, offsets[from], offsets[from + 1], to) >= 0;
+	}
+
+	/**
+	 * Creates the transposed Graph in a single counting sort pass
+	 *
+	 * @return Graph with all Edges reversed
+	 */
+	public CompactGraph getTransposed() {
+
+		int vertexCount = getVertexCount();
+		int[] reversedOffsets = new int[vertexCount + 1];
+		int[] reversedTargets = new int[getEdgeCount()];
+
+		// count incoming Edges
+		for (int edge = 0; edge < reversedTargets.length; edge++)
+			reversedOffsets[getTarget(edge) + 1]++;
+		for (int i = 0; i < vertexCount; i++)
+			reversedOffsets[i + 1] += reversedOffsets[i];
+
+		// sources are visited in ascending order, so every row stays sorted
+		int[] position = Arrays.copyOf(reversedOffsets, vertexCount);
+		for (int source = 0; source < vertexCount; source++) {
+			for (int edge = getEdgeStart(source); edge < getEdgeEnd(source); edge++)
+				reversedTargets[position[getTarget(edge)]++] = source;
+		}
+
+		return new CompactGraph(getIds(), reversedOffsets, reversedTargets);
+	}
+
+	/**
+	 * Creates the Subgraph induced by the given Vertices
+	 *
+	 * @param indices of the Vertices to keep in ascending order
+	 * @return Subgraph
+	 */
+	public CompactGraph getSubGraph(int[] indices) {
+
+		int[] subIds = new int[indices.length];
+		int[] subOffsets = new int[indices.length + 1];
+
+		// count the Edges staying inside the Subgraph
+		for (int i = 0; i < indices.length; i++) {
+			int vertex = indices[i];
+			subIds[i] = getId(vertex);
+			int degree = 0;
+			for (int edge = getEdgeStart(vertex); edge < getEdgeEnd(vertex); edge++) {
+				if (Arrays.binarySearch(indices, getTarget(edge)) >= 0)
+					degree++;
+			}
+			subOffsets[i + 1] = subOffsets[i] + degree;
+		}
+
+		// translate the targets into Subgraph indices
+		int[] subTargets = new int[subOffsets[indices.length]];
+		int subEdge = 0;
+		for (int vertex : indices) {
+			for (int edge = getEdgeStart(vertex); edge < getEdgeEnd(vertex); edge++) {
+				int target = Arrays.binarySearch(indices, getTarget(edge));
+				if (target >= 0)
+					subTargets[subEdge++] = target;
+			}
+		}
+
+		return new CompactGraph(subIds, subOffsets, subTargets);
+	}
+
+	/**
+	 * @return Vertex ids by dense index, a copy for mapped Graphs
+	 */
+	private int[] getIds() {
+		if (ids != null)
+			return ids;
+		int[] copy = new int[getVertexCount()];
+		for (int index = 0; index < copy.length; index++)
+			copy[index] = getId(index);
+		return copy;
+	}
+
+	/**
+	 * Creates a DirectedGraph with the same Vertices and Edges
+	 *
+	 * @param <T> type of the data
+	 * @return DirectedGraph
+	 */
+	public <T> DirectedGraph<T> toDirectedGraph() {
+		DirectedGraph<T> graph = new DirectedGraph<>();
+		List<Vertex<T>> vertices = new ArrayList<>(getVertexCount());
+		for (int index = 0; index < getVertexCount(); index++)
+			vertices.add(graph.addSingleVertex(getId(index)));
+		// the Edges are already unique
+		for (int source = 0; source < getVertexCount(); source++) {
+			for (int edge = getEdgeStart(source); edge < getEdgeEnd(source); edge++)
+				vertices.get(source).appendUnchecked(vertices.get(getTarget(edge)));
+		}
+		return graph;
+	}
+
+	/**
+	 * Writes the Graph into a binary snapshot file, which can be mapped back
+	 * with {@link #fromSnapshot(String)}
+	 *
+	 * @param filename
+	 *
+	 * @throws InvalidPathException - if the filename string cannot be converted to
+	 *                              a Path
+	 * @throws IOException          - if an I/O error occurs writing to the file
+	 * @throws SecurityException    - In the case of the default provider, and a
+	 *                              security manager is installed, the checkWrite
+	 *                              method is invoked to check write access to the
+	 *                              file.
+	 */
+	public void writeSnapshot(String filename) throws InvalidPathException, IOException, SecurityException {
+		GraphSnapshot.write(Paths.get(filename), this);
+	}
+
+	@Override
+	public String toString() {
+
+		StringBuffer buffer = new StringBuffer();
+		buffer.append("Vertices: ");
+		buffer.append(Arrays.toString(getIds()));
+		buffer.append("\n");
+		buffer.append("Edges:");
+
+		for (int source = 0; source < getVertexCount(); source++) {
+			for (int edge = getEdgeStart(source); edge < getEdgeEnd(source); edge++) {
+				buffer.append("\n");
+				buffer.append(String.format("(%2d -- %-2d)", getId(source), getId(getTarget(edge))));
+			}
+		}
+
+		return buffer.toString();
+	}
+
+	/**
+	 * Creates a CompactGraph with the same Vertices and Edges as a DirectedGraph
+	 *
+	 * @param graph to copy
+	 * @return CompactGraph
+	 */
+	public static CompactGraph fromGraph(DirectedGraph<?> graph) {
+
+		List<? extends Vertex<?>> vertices = graph.getAllVertices();
+
+		int[] ids = new int[vertices.size()];
+		for (int i = 0; i < ids.length; i++)
+			ids[i] = vertices.get(i).getId();
+		Arrays.sort(ids);
+
+		int[] offsets = new int[ids.length + 1];
+		for (Vertex<?> vertex : vertices)
+			offsets[Arrays.binarySearch(ids, vertex.getId()) + 1] = vertex.getDegree();
+		for (int i = 0; i < ids.length; i++)
+			offsets[i + 1] += offsets[i];
+
+		// the edges of a Vertex are already unique, they only need to be sorted
+		int[] targets = new int[offsets[ids.length]];
+		for (Vertex<?> vertex : vertices) {
+			int source = Arrays.binarySearch(ids, vertex.getId());
+			int edge = offsets[source];
+			for (Edge<?> outgoing : vertex.getEdges())
+				targets[edge++] = Arrays.binarySearch(ids, outgoing.getTo().getId());
+			Arrays.sort(targets, offsets[source], edge);
+		}
+
+		return new CompactGraph(ids, offsets, targets);
+	}
+
+	/**
+	 * Creates the transposed CompactGraph of a DirectedGraph in a single counting
+	 * sort pass, without building the CompactGraph of the DirectedGraph first
+	 *
+	 * @param graph to copy with all Edges reversed
+	 * @return CompactGraph with the same Vertices and reversed Edges
+	 */
+	public static CompactGraph transposeOf(DirectedGraph<?> graph) {
+
+		List<? extends Vertex<?>> vertices = graph.getAllVertices();
+		vertices.sort((a, b) -> Integer.compare(a.getId(), b.getId()));
+
+		int[] ids = new int[vertices.size()];
+		for (int i = 0; i < ids.length; i++)
+			ids[i] = vertices.get(i).getId();
+
+		// count incoming Edges
+		int[] offsets = new int[ids.length + 1];
+		for (Vertex<?> vertex : vertices) {
+			for (Edge<?> edge : vertex.getEdges())
+				offsets[Arrays.binarySearch(ids, edge.getTo().getId()) + 1]++;
+		}
+		for (int i = 0; i < ids.length; i++)
+			offsets[i + 1] += offsets[i];
+
+		// sources are visited in ascending order, so every row stays sorted
+		int[] targets = new int[offsets[ids.length]];
+		int[] position = Arrays.copyOf(offsets, ids.length);
+		for (int source = 0; source < ids.length; source++) {
+			for (Edge<?> edge : vertices.get(source).getEdges())
+				targets[position[Arrays.binarySearch(ids, edge.getTo().getId())]++] = source;
+		}
+
+		return new CompactGraph(ids, offsets, targets);
+	}
+
+	/**
+	 * Creates a CompactGraph from two parallel arrays of Vertex ids<br>
+	 * Duplicate Edges are ignored
+	 *
+	 * @param fromIds   source Vertex id of each Edge
+	 * @param toIds     destination Vertex id of each Edge
+	 * @param edgeCount count of Edges to read from the arrays
+	 * @return CompactGraph
+	 */
+	public static CompactGraph fromEdges(int[] fromIds, int[] toIds, int edgeCount) {
+		GraphBuilder builder = new GraphBuilder();
+		for (int i = 0; i < edgeCount; i++)
+			builder.addEdge(fromIds[i], toIds[i]);
+		return builder.buildCompactGraph();
+	}
+
+	/**
+	 * Creates a CompactGraph form a String containing Edges<br>
+	 * Format: {&lt;from ID&gt;, &lt;to ID&gt;}<br>
+	 * Separator: any
+	 *
+	 * @param edgesString
+	 * @return CompactGraph
+	 */
+	public static CompactGraph fromString(String edgesString) {
+		GraphBuilder builder = new GraphBuilder();
+		new EdgeListReader(builder).read(ByteBuffer.wrap(edgesString.getBytes(StandardCharsets.ISO_8859_1)));
+		return builder.buildCompactGraph();
+	}
+
+	/**
+	 * Creates a CompactGraph from a file
+	 *
+	 * @param filename
+	 *
+	 * @return CompactGraph
+	 *
+	 * @throws InvalidPathException - if the filename string cannot be converted to
+	 *                              a Path
+	 * @throws IOException          - if an I/O error occurs reading from the file
+	 * @throws SecurityException    - In the case of the default provider, and a
+	 *                              security manager is installed, the checkRead
+	 *                              method is invoked to check read access to the
+	 *                              file.
+	 */
+	public static CompactGraph fromFile(String filename)
+			throws InvalidPathException, IOException, SecurityException {
+
+		GraphBuilder builder = new GraphBuilder();
+		EdgeListReader.readFile(Paths.get(filename), builder);
+		return builder.buildCompactGraph();
+
+	}
+
+	/**
+	 * Creates a CompactGraph from a file, which is memory-mapped and parsed in
+	 * parallel<br>
+	 * Faster than {@link #fromFile(String)} on large files, the Edges of all
+	 * chunks are merged in a single build
+	 *
+	 * @param filename
+	 * @param pool     to parse the chunks of the file in
+	 *
+	 * @return CompactGraph
+	 *
+	 * @throws InvalidPathException - if the filename string cannot be converted to
+	 *                              a Path
+	 * @throws IOException          - if an I/O error occurs reading from the file
+	 * @throws SecurityException    - In the case of the default provider, and a
+	 *                              security manager is installed, the checkRead
+	 *                              method is invoked to check read access to the
+	 *                              file.
+	 */
+	public static CompactGraph fromMappedFile(String filename, ForkJoinPool pool)
+			throws InvalidPathException, IOException, SecurityException {
+		return loadMappedFile(filename, pool).buildCompactGraph();
+	}
+
+	/**
+	 * Loads a binary snapshot file written by {@link #writeSnapshot(String)}<br>
+	 * The file is memory-mapped and the Graph reads its sections straight from
+	 * the mapping, nothing is parsed or copied onto the heap. The layout is
+	 * checked in one pass over the file before the Graph is returned
+	 *
+	 * @param filename
+	 *
+	 * @return CompactGraph with the content of the file
+	 *
+	 * @throws InvalidPathException - if the filename string cannot be converted to
+	 *                              a Path
+	 * @throws IOException          - if an I/O error occurs reading from the file
+	 *                              or it isn't a valid snapshot
+	 * @throws SecurityException    - In the case of the default provider, and a
+	 *                              security manager is installed, the checkRead
+	 *                              method is invoked to check read access to the
+	 *                              file.
+	 */
+	public static CompactGraph fromSnapshot(String filename)
+			throws InvalidPathException, IOException, SecurityException {
+		return GraphSnapshot.read(Paths.get(filename));
+	}
+
+	/**
+	 * Parses a file in parallel and merges the Edges of all chunks
+	 *
+	 * @param filename
+	 * @param pool     to parse the chunks of the file in
+	 * @return builder with all Edges, which sorts in parallel
+	 * @throws IOException - if an I/O error occurs reading from the file
+	 */
+	static GraphBuilder loadMappedFile(String filename, ForkJoinPool pool) throws IOException {
+		GraphBuilder builder = new GraphBuilder();
+		builder.setParallelSort(true);
+		builder.addAll(EdgeListReader.readMappedFile(Paths.get(filename), pool));
+		return builder;
+	}
+
+}
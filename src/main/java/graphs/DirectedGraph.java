@@ -1,22 +1,24 @@
 package graphs;
 
 import java.io.IOException;
-import java.nio.file.Files;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.InvalidPathException;
-import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 public class DirectedGraph<T> implements Cloneable {
 
 	private Map<Integer, Vertex<T>> allVertices;
+	// true if every Vertex indexes its incoming Edges
+	private boolean incomingIndex;
 
 	/**
 	 * Creates a new DirectedGraph
@@ -35,6 +37,13 @@ public class DirectedGraph<T> implements Cloneable {
 			return;
 		}
 		allVertices.put(vertex.getId(), vertex);
+		if (incomingIndex) {
+			vertex.enableIncomingIndex();
+			for (Edge<T> edge : vertex.getEdges()) {
+				if (edge.getTo().hasIncomingIndex())
+					edge.getTo().indexIncoming(edge);
+			}
+		}
 	}
 
 	/**
@@ -47,11 +56,38 @@ public class DirectedGraph<T> implements Cloneable {
 		if (allVertices.containsKey(id)) {
 			return allVertices.get(id);
 		}
-		Vertex<T> v = new Vertex<T>(id);
+		Vertex<T> v = createVertex(id);
 		allVertices.put(id, v);
 		return v;
 	}
 
+	/**
+	 * Indexes the incoming Edges of every Vertex, now and for all later
+	 * changes<br>
+	 * Afterwards {@link #removeVertex(int)} takes O(in-degree + out-degree)
+	 * instead of O(V + E), {@link #removeEdge(int, int)} and
+	 * {@link #hasEdge(int, int)} take O(1), and {@link Vertex#getIncomingEdges()}
+	 * can be used. Does nothing if the index is already enabled
+	 */
+	public void enableIncomingIndex() {
+		if (incomingIndex)
+			return;
+		incomingIndex = true;
+		for (Vertex<T> vertex : allVertices.values())
+			vertex.enableIncomingIndex();
+		for (Vertex<T> vertex : allVertices.values()) {
+			for (Edge<T> edge : vertex.getEdges())
+				edge.getTo().indexIncoming(edge);
+		}
+	}
+
+	/**
+	 * @return true if the incoming Edges of every Vertex are indexed
+	 */
+	public boolean hasIncomingIndex() {
+		return incomingIndex;
+	}
+
 	/**
 	 * Sets the data of a Vertex by id if it exists
 	 * 
@@ -66,19 +102,27 @@ public class DirectedGraph<T> implements Cloneable {
 	}
 
 	/**
-	 * Removes a Vertex and all its Edges
+	 * Removes a Vertex and all its Edges<br>
+	 * Takes O(in-degree + out-degree) with the incoming index, see
+	 * {@link #enableIncomingIndex()}, and O(V + E) without it
 	 * 
 	 * @param id of the Vertex to remove
 	 */
 	public void removeVertex(int id) {
 
-		// remove Vertex as adjacent Vertex from all connected Vertices
-		getAllEdges().stream()
-				.filter(edge -> edge.getTo().getId() == id)
-				.forEach(edge -> edge.getFrom().remove(id));
-
 		// remove Vertex form Graph
-		allVertices.remove(id);
+		Vertex<T> vertex = allVertices.remove(id);
+		if (vertex == null)
+			return;
+
+		// remove Vertex as adjacent Vertex from all connected Vertices
+		if (incomingIndex) {
+			vertex.removeAllEdges();
+		} else {
+			for (Vertex<T> other : allVertices.values())
+				other.remove(id);
+			vertex.removeAllOutgoingEdges();
+		}
 
 	}
 
@@ -123,14 +167,14 @@ public class DirectedGraph<T> implements Cloneable {
 		if (allVertices.containsKey(fromId)) {
 			fromVertex = allVertices.get(fromId);
 		} else {
-			fromVertex = new Vertex<T>(fromId);
+			fromVertex = createVertex(fromId);
 			allVertices.put(fromId, fromVertex);
 		}
 		Vertex<T> toVertex = null;
 		if (allVertices.containsKey(toId)) {
 			toVertex = allVertices.get(toId);
 		} else {
-			toVertex = new Vertex<T>(toId);
+			toVertex = createVertex(toId);
 			allVertices.put(toId, toVertex);
 		}
 		fromVertex.append(toVertex);
@@ -170,15 +214,42 @@ public class DirectedGraph<T> implements Cloneable {
 	}
 
 	/**
-	 * Removes the Edge in between the two Vertices if possible
+	 * Removes the Edge in between the two Vertices if possible<br>
+	 * Takes O(1) with the incoming index and O(out-degree) without it
 	 * 
 	 * @param fromId
 	 * @param toId
 	 */
 	public void removeEdge(int fromId, int toId) {
-		if (allVertices.containsKey(fromId)) {
-			allVertices.get(fromId).remove(toId);
-		}
+		Vertex<T> from = allVertices.get(fromId);
+		Vertex<T> to = allVertices.get(toId);
+		if (from != null && to != null)
+			from.remove(to);
+	}
+
+	/**
+	 * Checks for an Edge in between the two Vertices<br>
+	 * Takes O(1) with the incoming index and O(out-degree) without it
+	 * 
+	 * @param fromId source Vertex id
+	 * @param toId   destination Vertex id
+	 * @return true if the Edge exists
+	 */
+	public boolean hasEdge(int fromId, int toId) {
+		Vertex<T> from = allVertices.get(fromId);
+		Vertex<T> to = allVertices.get(toId);
+		return from != null && to != null && from.findEdgeTo(to) != null;
+	}
+
+	/**
+	 * @param id of the new Vertex
+	 * @return empty Vertex, which indexes its incoming Edges like the others
+	 */
+	private Vertex<T> createVertex(int id) {
+		Vertex<T> vertex = new Vertex<T>(id);
+		if (incomingIndex)
+			vertex.enableIncomingIndex();
+		return vertex;
 	}
 
 	/**
@@ -188,8 +259,7 @@ public class DirectedGraph<T> implements Cloneable {
 	 */
 	public List<Edge<T>> getAllEdges() {
 		return allVertices.values().stream()
-				.map(vertex -> vertex.getEdges())
-				.flatMap(List::stream)
+				.flatMap(vertex -> vertex.getEdges().stream())
 				.collect(Collectors.toList());
 	}
 
@@ -201,58 +271,74 @@ public class DirectedGraph<T> implements Cloneable {
 	public DirectedGraph<T> clone() {
 
 		DirectedGraph<T> graphCopy = new DirectedGraph<T>();
+		GraphBuilder builder = new GraphBuilder();
 
 		// deep copy Vertices
 		this.getAllVertices().forEach(vertex -> {
-			Vertex<T> vertexCopy = new Vertex<T>(vertex.getId());
-			if (vertex.hasData())
-				vertexCopy.setData(vertex.getData());
-			graphCopy.addVertex(vertexCopy);
+			graphCopy.addVertex(vertex.cloneWithoutEdges());
+			vertex.getEdges().forEach(edge -> builder.addEdge(vertex.getId(), edge.getTo().getId()));
 		});
 
 		// deep copy Edges
-		this.getAllEdges().forEach(edge -> {
-			graphCopy.addEdge(edge.getFrom().getId(), edge.getTo().getId());
-		});
+		builder.buildInto(graphCopy);
 
 		return graphCopy;
 	}
 
 	/**
-	 * Deep copy the Graph and reverse all edges
+	 * Deep copy the Graph and reverse all edges<br>
+	 * Vertices without Edges are kept, like in {@link #getReversedView()}
 	 * 
 	 * @return reversed Graph
 	 */
 	public DirectedGraph<T> getReversed() {
 		DirectedGraph<T> outputGraph = new DirectedGraph<T>();
-		List<Edge<T>> edges = getAllEdges();
-		for (int i = 0; i != edges.size(); i++) {
-			Edge<T> edge = edges.get(i);
-			Vertex<T> vertex1 = edge.getFrom().cloneWithoutEdges();
-			Vertex<T> vertex2 = edge.getTo().cloneWithoutEdges();
-			outputGraph.addEdge(vertex2, vertex1);
+		GraphBuilder builder = new GraphBuilder();
+		for (Vertex<T> vertex : allVertices.values()) {
+			outputGraph.addVertex(vertex.cloneWithoutEdges());
+			for (Edge<T> edge : vertex.getEdges())
+				builder.addEdge(edge.getTo().getId(), edge.getFrom().getId());
 		}
+		builder.buildInto(outputGraph);
 		return outputGraph;
 	}
 
 	/**
-	 * Get a deep copy of the Graph, with the specified IDs
+	 * Get a view of the Graph with all Edges reversed without copying the
+	 * Graph<br>
+	 * The view reads the Edges from the incoming index, which has to be enabled
+	 * with {@link #enableIncomingIndex()} first. For a one-off reversed copy
+	 * without the index see {@link CompactGraph#transposeOf(DirectedGraph)}
+	 * 
+	 * @return reversed view
+	 * @throws IllegalStateException if the incoming Edges aren't indexed
+	 */
+	public GraphView<T> getReversedView() {
+		if (!incomingIndex)
+			throw new IllegalStateException("Incoming Edges aren't indexed");
+		return new ReversedGraphView<>(this);
+	}
+
+	/**
+	 * Get a deep copy of the Graph, with the specified IDs<br>
+	 * Only the kept Vertices and their Edges are copied
 	 * 
 	 * @param idsToKeep
 	 * @return Subgraph
 	 */
 	public DirectedGraph<T> getSubGraph(Set<Integer> idsToKeep) {
+		return getSubGraphView(idsToKeep).materialize();
+	}
 
-		// clone graph
-		DirectedGraph<T> graph = this.clone();
-
-		// remove not needed Vertices
-		for (Vertex<T> vertex : getAllVertices()) {
-			if (!idsToKeep.contains(vertex.getId()))
-				graph.removeVertex(vertex.getId());
-		}
-
-		return graph;
+	/**
+	 * Get a view of the Subgraph with the specified IDs without copying the
+	 * Graph
+	 * 
+	 * @param idsToKeep
+	 * @return view of the Subgraph
+	 */
+	public SubGraphView<T> getSubGraphView(Set<Integer> idsToKeep) {
+		return new SubGraphView<>(this, idsToKeep);
 	}
 
 	/**
@@ -292,13 +378,38 @@ public class DirectedGraph<T> implements Cloneable {
 	}
 
 	/**
-	 * Checks this Graph equals another Directed Graph
+	 * Hashes the structure of the Graph<br>
+	 * The fingerprint is a sum over the hashes of all Vertex ids and Edges, so it
+	 * doesn't depend on the order they were added in. Every Vertex keeps the sum
+	 * of its Edges up to date, so it takes O(V). The data of the Vertices isn't
+	 * part of it
+	 * 
+	 * @return 64-bit fingerprint, equal for equal Graphs
+	 */
+	public long fingerprint() {
+		long fingerprint = 0;
+		for (Vertex<T> vertex : allVertices.values())
+			fingerprint += Vertex.hashId(vertex.getId()) + vertex.getEdgeFingerprint();
+		return fingerprint;
+	}
+
+	/**
+	 * @return hashCode of the structure, consistent with equals
+	 */
+	@Override
+	public int hashCode() {
+		return Long.hashCode(fingerprint());
+	}
+
+	/**
+	 * Checks this Graph equals another Directed Graph in O(V + E log E)<br>
+	 * Both Graphs have to consist of Vertices with the same ids and Edges between
+	 * the same ids, the data of the Vertices isn't compared
 	 * 
 	 * @param otherGraph to compare to
-	 * @return true if there is the same amount of Edges, Vertices and the IDs are
-	 *         equal
+	 * @return true if there are the same Vertices and Edges
 	 */
-	@SuppressWarnings({ "unchecked", "rawtypes" })
+	@SuppressWarnings("unchecked")
 	@Override
 	public boolean equals(Object obj) {
 		if (this == obj)
@@ -308,25 +419,39 @@ public class DirectedGraph<T> implements Cloneable {
 		if (getClass() != obj.getClass())
 			return false;
 
-		DirectedGraph other = (DirectedGraph) obj;
+		DirectedGraph<T> other = (DirectedGraph<T>) obj;
 
 		if (this.getVertexCount() != other.getVertexCount())
 			return false;
 
-		List<Edge<T>> myEdges = this.getAllEdges();
-		List<Edge<T>> otherEdges = other.getAllEdges();
-
-		if (myEdges.size() != otherEdges.size())
+		// different fingerprints can't be equal, equal ones are confirmed below
+		if (this.fingerprint() != other.fingerprint())
 			return false;
 
-		for (Edge<T> myEdge : myEdges) {
-			if (otherEdges.stream().noneMatch(myEdge::equals))
+		for (Vertex<T> vertex : allVertices.values()) {
+			Vertex<T> otherVertex = other.allVertices.get(vertex.getId());
+			if (otherVertex == null || vertex.getDegree() != otherVertex.getDegree())
+				return false;
+			if (!Arrays.equals(sortedTargetIds(vertex), sortedTargetIds(otherVertex)))
 				return false;
 		}
 
 		return true;
 	}
 
+	/**
+	 * @param vertex whose Edges to read
+	 * @return ids of the destinations of the outgoing Edges in ascending order
+	 */
+	private static int[] sortedTargetIds(Vertex<?> vertex) {
+		int[] ids = new int[vertex.getDegree()];
+		int i = 0;
+		for (Edge<?> edge : vertex.getEdges())
+			ids[i++] = edge.getTo().getId();
+		Arrays.sort(ids);
+		return ids;
+	}
+
 	/**
 	 * Creates a Graph form a String containing Edges<br>
 	 * Format: {&lt;from ID&gt;, &lt;to ID&gt;}<br>
@@ -337,37 +462,12 @@ public class DirectedGraph<T> implements Cloneable {
 	 */
 	public static DirectedGraph<Integer> fromString(String edgesString) {
 
-		// edge string pattern
-		final Pattern pattern = Pattern.compile(
-				"\\{\\s*([0-9]+)\\s*,\\s*([0-9]+)\\s*\\}");
-
-		// match the pattern in the file
-		Matcher matcher = pattern.matcher(edgesString);
-
-		// new directed graph
-		DirectedGraph<Integer> graph = new DirectedGraph<>();
+		// collect the edges, duplicates are dropped once at the end
+		GraphBuilder builder = new GraphBuilder();
+		new EdgeListReader(builder).read(ByteBuffer.wrap(edgesString.getBytes(StandardCharsets.ISO_8859_1)));
 
 		// create vertices and edges
-		while (matcher.find()) {
-
-			// get pair
-			Integer srcId = Integer.valueOf(matcher.group(1));
-			Integer dstId = Integer.valueOf(matcher.group(2));
-
-			// create vertices
-			Vertex<Integer> src = new Vertex<>(srcId);
-			Vertex<Integer> dst = new Vertex<>(dstId);
-
-			// insert vertices
-			graph.addVertex(src);
-			graph.addVertex(dst);
-
-			// insert edge
-			graph.addEdge(src, dst);
-
-		}
-
-		return graph;
+		return builder.build();
 	}
 
 	/**
@@ -380,8 +480,6 @@ public class DirectedGraph<T> implements Cloneable {
 	 * @throws InvalidPathException - if the filename string cannot be converted to
 	 *                              a Path
 	 * @throws IOException          - if an I/O error occurs reading from the file
-	 *                              or a malformed or unmappable byte sequence is
-	 *                              read
 	 * @throws SecurityException    - In the case of the default provider, and a
 	 *                              security manager is installed, the checkRead
 	 *                              method is invoked to check read access to the
@@ -390,13 +488,35 @@ public class DirectedGraph<T> implements Cloneable {
 	public static DirectedGraph<Integer> fromFile(String filename)
 			throws InvalidPathException, IOException, SecurityException {
 
-		Path path = Paths.get(filename);
+		// stream the edges from the file into the builder
+		GraphBuilder builder = new GraphBuilder();
+		EdgeListReader.readFile(Paths.get(filename), builder);
 
-		// concatenate all lines
-		String line = String.join("\n", Files.readAllLines(path));
+		// create vertices and edges
+		return builder.build();
 
-		return fromString(line);
+	}
 
+	/**
+	 * Creates a Directed Graph from a file, which is memory-mapped and parsed in
+	 * parallel
+	 * 
+	 * @param filename
+	 * @param pool     to parse the chunks of the file in
+	 * 
+	 * @return Directed Graph
+	 * 
+	 * @throws InvalidPathException - if the filename string cannot be converted to
+	 *                              a Path
+	 * @throws IOException          - if an I/O error occurs reading from the file
+	 * @throws SecurityException    - In the case of the default provider, and a
+	 *                              security manager is installed, the checkRead
+	 *                              method is invoked to check read access to the
+	 *                              file.
+	 */
+	public static DirectedGraph<Integer> fromMappedFile(String filename, ForkJoinPool pool)
+			throws InvalidPathException, IOException, SecurityException {
+		return CompactGraph.loadMappedFile(filename, pool).build();
 	}
 
 }
@@ -9,6 +9,8 @@ public class Edge<T> {
 
 	private Vertex<T> from;
 	private Vertex<T> to;
+	// index in the outgoing Edges of the source, kept up to date by the Vertex
+	int position;
 
 	/**
 	 * Creates a new Edge
@@ -0,0 +1,17 @@
+package graphs;
+
+/**
+ * Receives the Edges of a Graph one at a time, e.g. while a file is parsed
+ */
+@FunctionalInterface
+public interface EdgeHandler {
+
+	/**
+	 * Handles an Edge
+	 * 
+	 * @param fromId source Vertex id
+	 * @param toId   destination Vertex id
+	 */
+	void edge(int fromId, int toId);
+
+}
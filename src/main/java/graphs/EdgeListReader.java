@@ -0,0 +1,268 @@
+package graphs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Streaming parser for Edge lists<br>
+ * Format: {&lt;from ID&gt;, &lt;to ID&gt;}<br>
+ * Separator: any<br>
+ * The bytes are scanned by hand instead of matching a regular expression on
+ * the whole text, so only a fixed size buffer is held in memory and every Edge
+ * is handed over as two ints. The state of a partly read Edge is kept between
+ * buffers, so an Edge may be split at any byte.
+ */
+public class EdgeListReader {
+
+	// size of the buffer to read channels with
+	private static final int BUFFER_SIZE = 1 << 16;
+	// mapped chunks per thread, to balance chunks with few Edges
+	private static final int CHUNKS_PER_THREAD = 4;
+	// largest chunk to map at once, a mapping is limited to 2 GiB
+	private static final long MAX_CHUNK_SIZE = 1L << 30;
+
+	// states of the scanner, each named after the expected input
+	private static final int OPEN = 0;
+	private static final int FROM_START = 1;
+	private static final int FROM = 2;
+	private static final int COMMA = 3;
+	private static final int TO_START = 4;
+	private static final int TO = 5;
+	private static final int CLOSE = 6;
+
+	private final EdgeHandler handler;
+
+	private int state = OPEN;
+	private long fromId;
+	private long number;
+
+	/**
+	 * Creates a new reader
+	 * 
+	 * @param handler receives every parsed Edge
+	 */
+	public EdgeListReader(EdgeHandler handler) {
+		this.handler = handler;
+	}
+
+	/**
+	 * Parses all bytes from a channel
+	 * 
+	 * @param channel to read until its end
+	 * @throws IOException           - if an I/O error occurs
+	 * @throws NumberFormatException - if a Vertex id doesn't fit into an int
+	 */
+	public void read(ReadableByteChannel channel) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+		while (channel.read(buffer) >= 0) {
+			buffer.flip();
+			read(buffer);
+			buffer.clear();
+		}
+	}
+
+	/**
+	 * Parses the remaining bytes of a buffer<br>
+	 * An Edge at the end of the buffer is completed by the next call
+	 * 
+	 * @param buffer to read up to its limit
+	 * @throws NumberFormatException - if a Vertex id doesn't fit into an int
+	 */
+	public void read(ByteBuffer buffer) {
+
+		int position = buffer.position();
+		int limit = buffer.limit();
+
+		for (; position < limit; position++) {
+
+			byte b = buffer.get(position);
+
+			switch (state) {
+			case OPEN:
+				if (b == '{')
+					state = FROM_START;
+				break;
+			case FROM_START:
+			case TO_START:
+				if (isDigit(b)) {
+					number = b - '0';
+					state++;
+				} else if (!isWhitespace(b)) {
+					restart(b);
+				}
+				break;
+			case FROM:
+			case TO:
+				if (isDigit(b)) {
+					number = number * 10 + b - '0';
+					if (number > Integer.MAX_VALUE)
+						throw new NumberFormatException("Vertex id out of range: " + number + "...");
+					break;
+				}
+				if (state == FROM)
+					fromId = number;
+				state++;
+				// the byte after a number is handled like in the next state
+				readSeparator(b);
+				break;
+			case COMMA:
+			case CLOSE:
+				readSeparator(b);
+				break;
+			}
+		}
+
+		buffer.position(position);
+	}
+
+	/**
+	 * Handles a byte while waiting for the comma or the closing brace
+	 * 
+	 * @param b byte to handle
+	 */
+	private void readSeparator(byte b) {
+		if (state == COMMA && b == ',') {
+			state = TO_START;
+		} else if (state == CLOSE && b == '}') {
+			handler.edge((int) fromId, (int) number);
+			state = OPEN;
+		} else if (!isWhitespace(b)) {
+			restart(b);
+		}
+	}
+
+	/**
+	 * Parses a whole file
+	 * 
+	 * @param path    of the file
+	 * @param handler receives every parsed Edge
+	 * @throws IOException           - if an I/O error occurs reading from the file
+	 * @throws NumberFormatException - if a Vertex id doesn't fit into an int
+	 * @throws SecurityException     - In the case of the default provider, and a
+	 *                               security manager is installed, the checkRead
+	 *                               method is invoked to check read access to
+	 *                               the file.
+	 */
+	public static void readFile(Path path, EdgeHandler handler) throws IOException, SecurityException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			new EdgeListReader(handler).read(channel);
+		}
+	}
+
+	/**
+	 * Parses a whole file in parallel<br>
+	 * The file is split into chunks, which end right after a closing brace, so
+	 * no Edge is cut. Every chunk is memory-mapped and parsed by a task of the
+	 * pool into its own builder
+	 * 
+	 * @param path of the file
+	 * @param pool to parse the chunks in
+	 * @return Edges of each chunk in file order
+	 * @throws IOException           - if an I/O error occurs reading from the file
+	 * @throws NumberFormatException - if a Vertex id doesn't fit into an int
+	 * @throws SecurityException     - In the case of the default provider, and a
+	 *                               security manager is installed, the checkRead
+	 *                               method is invoked to check read access to
+	 *                               the file.
+	 */
+	static List<GraphBuilder> readMappedFile(Path path, ForkJoinPool pool) throws IOException, SecurityException {
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+
+			long size = channel.size();
+			long chunkSize = Math.min(MAX_CHUNK_SIZE,
+					Math.max(BUFFER_SIZE, size / (pool.getParallelism() * CHUNKS_PER_THREAD)));
+
+			List<ForkJoinTask<GraphBuilder>> tasks = new ArrayList<>();
+			for (long start = 0; start < size;) {
+				long end = findChunkEnd(channel, start + chunkSize);
+				long chunkStart = start;
+				tasks.add(pool.submit(() -> {
+					GraphBuilder edges = new GraphBuilder();
+					new EdgeListReader(edges).read(channel.map(FileChannel.MapMode.READ_ONLY, chunkStart, end - chunkStart));
+					return edges;
+				}));
+				start = end;
+			}
+
+			List<GraphBuilder> buffers = new ArrayList<>(tasks.size());
+			for (ForkJoinTask<GraphBuilder> task : tasks)
+				buffers.add(join(task));
+			return buffers;
+		}
+
+	}
+
+	/**
+	 * Finds the end of a chunk right after the next closing brace
+	 * 
+	 * @param channel  of the file
+	 * @param position to start looking from
+	 * @return position after the closing brace or the size of the file
+	 * @throws IOException - if an I/O error occurs reading from the file
+	 */
+	private static long findChunkEnd(FileChannel channel, long position) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(256);
+		while (position < channel.size()) {
+			buffer.clear();
+			int count = channel.read(buffer, position);
+			for (int i = 0; i < count; i++) {
+				if (buffer.get(i) == '}')
+					return position + i + 1;
+			}
+			position += Math.max(count, 0);
+		}
+		return channel.size();
+	}
+
+	/**
+	 * Waits for a parse task and rethrows its exception unwrapped
+	 * 
+	 * @param task to wait for
+	 * @return Edges of the chunk
+	 * @throws IOException - if the chunk couldn't be mapped
+	 */
+	private static GraphBuilder join(ForkJoinTask<GraphBuilder> task) throws IOException {
+		try {
+			return task.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException(e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException)
+				throw (IOException) cause;
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			throw new IOException(cause);
+		}
+	}
+
+	/**
+	 * Drops a partly read Edge, the unexpected byte may open the next one
+	 * 
+	 * @param b unexpected byte
+	 */
+	private void restart(byte b) {
+		state = b == '{' ? FROM_START : OPEN;
+	}
+
+	private static boolean isDigit(byte b) {
+		return b >= '0' && b <= '9';
+	}
+
+	// same characters as \s in a regular expression
+	private static boolean isWhitespace(byte b) {
+		return b == ' ' || b == '\t' || b == '\n' || b == 0x0B || b == '\f' || b == '\r';
+	}
+
+}
@@ -0,0 +1,217 @@
+package graphs;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Collects Edges in primitive arrays and builds a Graph from them at once<br>
+ * Duplicate Edges are only removed by a single sort at the end, so building
+ * takes O(E log E) instead of checking the adjacency list on every added Edge
+ */
+public class GraphBuilder implements EdgeHandler {
+
+	private int[] fromIds = new int[16];
+	private int[] toIds = new int[16];
+	private int edgeCount;
+
+	// Vertices added on their own, which may have no Edges
+	private int[] vertexIds = new int[0];
+	private int vertexCount;
+
+	// sorts with Arrays.parallelSort if set
+	private boolean parallelSort;
+
+	/**
+	 * Sorts the Edges on all cores of the common pool, worthwhile for millions
+	 * of Edges
+	 * 
+	 * @param parallelSort true to sort in parallel
+	 */
+	public void setParallelSort(boolean parallelSort) {
+		this.parallelSort = parallelSort;
+	}
+
+	/**
+	 * Adds an Edge and its Vertices, duplicates are allowed
+	 * 
+	 * @param fromId source Vertex id
+	 * @param toId   destination Vertex id
+	 */
+	public void addEdge(int fromId, int toId) {
+		if (edgeCount == fromIds.length) {
+			fromIds = Arrays.copyOf(fromIds, edgeCount * 2);
+			toIds = Arrays.copyOf(toIds, edgeCount * 2);
+		}
+		fromIds[edgeCount] = fromId;
+		toIds[edgeCount] = toId;
+		edgeCount++;
+	}
+
+	@Override
+	public void edge(int fromId, int toId) {
+		addEdge(fromId, toId);
+	}
+
+	/**
+	 * Adds a Vertex, which may have no Edges
+	 * 
+	 * @param id of the Vertex
+	 */
+	public void addVertex(int id) {
+		if (vertexCount == vertexIds.length)
+			vertexIds = Arrays.copyOf(vertexIds, Math.max(16, vertexCount * 2));
+		vertexIds[vertexCount++] = id;
+	}
+
+	/**
+	 * Adds all Vertices and Edges of other builders
+	 * 
+	 * @param builders to copy from
+	 */
+	public void addAll(List<GraphBuilder> builders) {
+		int totalEdges = edgeCount;
+		for (GraphBuilder builder : builders)
+			totalEdges = Math.addExact(totalEdges, builder.edgeCount);
+		fromIds = Arrays.copyOf(fromIds, Math.max(totalEdges, 16));
+		toIds = Arrays.copyOf(toIds, Math.max(totalEdges, 16));
+		for (GraphBuilder builder : builders) {
+			System.arraycopy(builder.fromIds, 0, fromIds, edgeCount, builder.edgeCount);
+			System.arraycopy(builder.toIds, 0, toIds, edgeCount, builder.edgeCount);
+			edgeCount += builder.edgeCount;
+			for (int i = 0; i < builder.vertexCount; i++)
+				addVertex(builder.vertexIds[i]);
+		}
+	}
+
+	/**
+	 * @return count of added Edges, including duplicates
+	 */
+	public int getEdgeCount() {
+		return edgeCount;
+	}
+
+	/**
+	 * Builds a CompactGraph from the added Vertices and Edges
+	 * 
+	 * @return CompactGraph
+	 */
+	public CompactGraph buildCompactGraph() {
+
+		long[] edges = sortEdges();
+		int[] ids = sortIds();
+
+		// the Edges are sorted by source, so the rows can be filled in order
+		int[] offsets = new int[ids.length + 1];
+		int[] targets = new int[edges.length];
+		int source = 0;
+		for (int edge = 0; edge < edges.length; edge++) {
+			int fromId = fromId(edges[edge]);
+			while (ids[source] != fromId)
+				offsets[++source] = edge;
+			targets[edge] = Arrays.binarySearch(ids, toId(edges[edge]));
+		}
+		while (source < ids.length)
+			offsets[++source] = edges.length;
+
+		return new CompactGraph(ids, offsets, targets);
+	}
+
+	/**
+	 * Builds a DirectedGraph from the added Vertices and Edges
+	 * 
+	 * @param <T> type of the data
+	 * @return DirectedGraph
+	 */
+	public <T> DirectedGraph<T> build() {
+		DirectedGraph<T> graph = new DirectedGraph<>();
+		buildInto(graph);
+		return graph;
+	}
+
+	/**
+	 * Adds the Vertices and Edges to a Graph without Edges, Vertices already in
+	 * the Graph are kept with their data
+	 * 
+	 * @param <T>   type of the data
+	 * @param graph to fill
+	 */
+	<T> void buildInto(DirectedGraph<T> graph) {
+
+		for (int id : sortIds())
+			graph.addSingleVertex(id);
+
+		// every Edge is unique now, so it is appended without looking for it
+		Vertex<T> from = null;
+		for (long edge : sortEdges()) {
+			if (from == null || from.getId() != fromId(edge))
+				from = graph.getVertex(fromId(edge));
+			from.appendUnchecked(graph.getVertex(toId(edge)));
+		}
+	}
+
+	/**
+	 * Sorts the Edges by source and destination id and drops duplicates
+	 * 
+	 * @return unique Edges as packed source and destination ids
+	 */
+	private long[] sortEdges() {
+
+		long[] edges = new long[edgeCount];
+		for (int i = 0; i < edgeCount; i++) {
+			// flipping the sign bit keeps the order of negative destination ids
+			edges[i] = (long) fromIds[i] << 32 | (toIds[i] ^ Integer.MIN_VALUE) & 0xFFFFFFFFL;
+		}
+		sort(edges);
+
+		int uniqueCount = 0;
+		for (int i = 0; i < edges.length; i++) {
+			if (uniqueCount == 0 || edges[uniqueCount - 1] != edges[i])
+				edges[uniqueCount++] = edges[i];
+		}
+		return uniqueCount == edges.length ? edges : Arrays.copyOf(edges, uniqueCount);
+	}
+
+	/**
+	 * Sorts the ids of all Vertices and drops duplicates
+	 * 
+	 * @return unique Vertex ids in ascending order
+	 */
+	private int[] sortIds() {
+
+		int[] ids = new int[edgeCount * 2 + vertexCount];
+		System.arraycopy(fromIds, 0, ids, 0, edgeCount);
+		System.arraycopy(toIds, 0, ids, edgeCount, edgeCount);
+		System.arraycopy(vertexIds, 0, ids, edgeCount * 2, vertexCount);
+		sort(ids);
+
+		int idCount = 0;
+		for (int i = 0; i < ids.length; i++) {
+			if (idCount == 0 || ids[idCount - 1] != ids[i])
+				ids[idCount++] = ids[i];
+		}
+		return Arrays.copyOf(ids, idCount);
+	}
+
+	private void sort(long[] values) {
+		if (parallelSort)
+			Arrays.parallelSort(values);
+		else
+			Arrays.sort(values);
+	}
+
+	private void sort(int[] values) {
+		if (parallelSort)
+			Arrays.parallelSort(values);
+		else
+			Arrays.sort(values);
+	}
+
+	private static int fromId(long edge) {
+		return (int) (edge >> 32);
+	}
+
+	private static int toId(long edge) {
+		return (int) edge ^ Integer.MIN_VALUE;
+	}
+
+}
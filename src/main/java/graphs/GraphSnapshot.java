@@ -0,0 +1,193 @@
+package graphs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary snapshot of a CompactGraph<br>
+ * Layout, all values as little endian 32 bit ints:
+ * <ul>
+ * <li>header: magic number, format version, Vertex count n, Edge count m</li>
+ * <li>Vertex ids: n values in ascending order</li>
+ * <li>Edge offsets: n + 1 values</li>
+ * <li>Edge targets: m values</li>
+ * </ul>
+ * Reading maps the three sections and hands their IntBuffers to a
+ * {@link MappedCompactGraph}, which keeps the mappings. They are released once
+ * the Graph is garbage collected. The sections are checked against the layout
+ * before they are used
+ */
+class GraphSnapshot {
+
+	// "CGRF" in ASCII
+	private static final int MAGIC = 0x43475246;
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 4 * Integer.BYTES;
+
+	// size of the buffer to write files with
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private GraphSnapshot() {
+	}
+
+	/**
+	 * Writes a snapshot file
+	 * 
+	 * @param path  of the file, replaced if it exists
+	 * @param graph to write
+	 * @throws IOException - if an I/O error occurs writing to the file
+	 */
+	static void write(Path path, CompactGraph graph) throws IOException {
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+
+			ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+			int vertexCount = graph.getVertexCount();
+			int edgeCount = graph.getEdgeCount();
+			buffer.putInt(MAGIC).putInt(VERSION).putInt(vertexCount).putInt(edgeCount);
+
+			for (int index = 0; index < vertexCount; index++)
+				put(channel, buffer, graph.getId(index));
+			put(channel, buffer, 0);
+			for (int index = 0; index < vertexCount; index++)
+				put(channel, buffer, graph.getEdgeEnd(index));
+			for (int edge = 0; edge < edgeCount; edge++)
+				put(channel, buffer, graph.getTarget(edge));
+			flush(channel, buffer);
+		}
+
+	}
+
+	/**
+	 * Maps a snapshot file without copying it
+	 * 
+	 * @param path of the file
+	 * @return CompactGraph with the content of the file
+	 * @throws IOException - if an I/O error occurs reading from the file or it
+	 *                     isn't a valid snapshot
+	 */
+	static CompactGraph read(Path path) throws IOException {
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+			while (header.hasRemaining() && channel.read(header) >= 0)
+				;
+			if (header.hasRemaining())
+				throw new IOException("Not a graph snapshot: " + path);
+			header.flip();
+			if (header.getInt() != MAGIC)
+				throw new IOException("Not a graph snapshot: " + path);
+			int version = header.getInt();
+			if (version != VERSION)
+				throw new IOException("Unsupported graph snapshot version " + version + ": " + path);
+			int vertexCount = header.getInt();
+			int edgeCount = header.getInt();
+
+			long idsStart = HEADER_SIZE;
+			long offsetsStart = idsStart + (long) vertexCount * Integer.BYTES;
+			long targetsStart = offsetsStart + (vertexCount + 1L) * Integer.BYTES;
+			long end = targetsStart + (long) edgeCount * Integer.BYTES;
+			if (vertexCount < 0 || edgeCount < 0 || channel.size() != end)
+				throw new IOException("Truncated graph snapshot: " + path);
+
+			IntBuffer ids = map(channel, idsStart, vertexCount);
+			IntBuffer offsets = map(channel, offsetsStart, vertexCount + 1);
+			IntBuffer targets = map(channel, targetsStart, edgeCount);
+			if (!isValid(ids, offsets, targets))
+				throw new IOException("Corrupt graph snapshot: " + path);
+			return new MappedCompactGraph(ids, offsets, targets);
+		}
+
+	}
+
+	/**
+	 * Checks the invariants of the CSR layout, which the algorithms rely on
+	 * without checking them
+	 * 
+	 * @param ids     Vertex ids
+	 * @param offsets Edge offsets
+	 * @param targets Edge targets
+	 * @return true if the ids are ascending, the offsets run from 0 to the Edge
+	 *         count without going back and every row has ascending targets of
+	 *         existing Vertices
+	 */
+	private static boolean isValid(IntBuffer ids, IntBuffer offsets, IntBuffer targets) {
+		int vertexCount = ids.limit();
+		for (int i = 1; i < vertexCount; i++) {
+			if (ids.get(i - 1) >= ids.get(i))
+				return false;
+		}
+		if (offsets.get(0) != 0 || offsets.get(vertexCount) != targets.limit())
+			return false;
+		for (int vertex = 0; vertex < vertexCount; vertex++) {
+			int start = offsets.get(vertex);
+			int end = offsets.get(vertex + 1);
+			if (start > end)
+				return false;
+			int previous = -1;
+			for (int edge = start; edge < end; edge++) {
+				int target = targets.get(edge);
+				if (target <= previous || target >= vertexCount)
+					return false;
+				previous = target;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Maps a section of the file
+	 * 
+	 * @param channel of the file
+	 * @param start   position of the section
+	 * @param count   of ints in the section
+	 * @return read-only view of the section, which stays valid after the channel
+	 *         is closed
+	 * @throws IOException - if an I/O error occurs or the section is too large to
+	 *                     be mapped at once
+	 */
+	private static IntBuffer map(FileChannel channel, long start, int count) throws IOException {
+		long size = (long) count * Integer.BYTES;
+		if (size > Integer.MAX_VALUE)
+			throw new IOException("Graph snapshot section too large to map: " + size + " bytes");
+		return channel.map(FileChannel.MapMode.READ_ONLY, start, size)
+				.order(ByteOrder.LITTLE_ENDIAN)
+				.asIntBuffer();
+	}
+
+	/**
+	 * Appends a value to the buffer, which is written first if it is full
+	 * 
+	 * @param channel to write to
+	 * @param buffer  to append to
+	 * @param value   to append
+	 * @throws IOException - if an I/O error occurs
+	 */
+	private static void put(FileChannel channel, ByteBuffer buffer, int value) throws IOException {
+		if (!buffer.hasRemaining())
+			flush(channel, buffer);
+		buffer.putInt(value);
+	}
+
+	/**
+	 * Writes the content of a buffer and clears it
+	 * 
+	 * @param channel to write to
+	 * @param buffer  to write
+	 * @throws IOException - if an I/O error occurs
+	 */
+	private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining())
+			channel.write(buffer);
+		buffer.clear();
+	}
+
+}
@@ -0,0 +1,57 @@
+package graphs;
+
+import java.util.List;
+
+/**
+ * Read-only view of a Graph derived from a DirectedGraph without copying it
+ *
+ * @param <T> type of the data
+ */
+public interface GraphView<T> {
+
+	/**
+	 * Checks if a Vertex is part of the view
+	 * 
+	 * @param id to look for
+	 * @return true if the view contains the Vertex
+	 */
+	boolean containsVertex(int id);
+
+	/**
+	 * Get the ids of all Vertices in the view
+	 * 
+	 * @return list of Vertex ids
+	 */
+	List<Integer> getVertexIds();
+
+	/**
+	 * Get the count of all Vertices in the view
+	 * 
+	 * @return count of Vertices
+	 */
+	int getVertexCount();
+
+	/**
+	 * Get the destinations of the Edges of a Vertex in the view
+	 * 
+	 * @param id of the Vertex
+	 * @return list of adjacent Vertex ids, empty if the Vertex isn't part of the
+	 *         view
+	 */
+	List<Integer> getAdjacentIds(int id);
+
+	/**
+	 * Get a list of all Edges in the view
+	 * 
+	 * @return list of Edges between the Vertices of the underlying Graph
+	 */
+	List<Edge<T>> getAllEdges();
+
+	/**
+	 * Copies the view into a new Graph with deep copied Vertices
+	 * 
+	 * @return Graph
+	 */
+	DirectedGraph<T> materialize();
+
+}
@@ -0,0 +1,31 @@
+package graphs;
+
+/**
+ * 64-bit hashing of Vertex ids, Edges and cycles<br>
+ * The hashes only depend on the hashed values, so they stay the same across
+ * runs and can be stored and compared elsewhere
+ */
+public final class Hashing {
+
+	/**
+	 * Increment of SplitMix64, the odd integer closest to 2^64 divided by the
+	 * golden ratio
+	 */
+	public static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+	private Hashing() {
+	}
+
+	/**
+	 * Finalizer of SplitMix64, spreads every input bit over the whole hash
+	 *
+	 * @param hash to mix
+	 * @return mixed hash
+	 */
+	public static long mix(long hash) {
+		hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+		hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+		return hash ^ (hash >>> 31);
+	}
+
+}
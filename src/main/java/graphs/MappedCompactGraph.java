@@ -0,0 +1,106 @@
+package graphs;
+
+import java.nio.IntBuffer;
+
+/**
+ * CompactGraph backed by a memory-mapped snapshot file<br>
+ * The three sections of the file are read through IntBuffers over the mapping,
+ * nothing is copied onto the heap. Only {@link CompactGraph#fromSnapshot} creates
+ * it, so while no snapshot is loaded the accessors of CompactGraph have a single
+ * implementation and the algorithms run on plain int[]
+ */
+final class MappedCompactGraph extends CompactGraph {
+
+	// dense index -> Vertex id, ascending
+	private final IntBuffer ids;
+	// first Edge of each Vertex, offsets[n] is the Edge count
+	private final IntBuffer offsets;
+	// target index of each Edge
+	private final IntBuffer targets;
+
+	/**
+	 * Creates a new MappedCompactGraph over already checked buffers without
+	 * copying them
+	 *
+	 * @param ids     Vertex ids in ascending order
+	 * @param offsets Edge offsets, one more than there are Vertices
+	 * @param targets target indices, sorted and unique per Vertex
+	 */
+	MappedCompactGraph(IntBuffer ids, IntBuffer offsets, IntBuffer targets) {
+		super(null, null, null);
+		this.ids = ids;
+		this.offsets = offsets;
+		this.targets = targets;
+	}
+
+	@Override
+	public int getVertexCount() {
+		return ids.limit();
+	}
+
+	@Override
+	public int getEdgeCount() {
+		return targets.limit();
+	}
+
+	@Override
+	public int getId(int index) {
+		return ids.get(index);
+	}
+
+	@Override
+	public int indexOf(int id) {
+		return binarySearch(ids, 0, ids.limit(), id);
+	}
+
+	@Override
+	public int getEdgeStart(int index) {
+		return offsets.get(index);
+	}
+
+	@Override
+	public int getEdgeEnd(int index) {
+		return offsets.get(index + 1);
+	}
+
+	@Override
+	public int getTarget(int edge) {
+		return targets.get(edge);
+	}
+
+	@Override
+	public int getDegree(int index) {
+		return offsets.get(index + 1) - offsets.get(index);
+	}
+
+	@Override
+	public boolean hasEdge(int from, int to) {
+		return binarySearch(targets, offsets.get(from), offsets.get(from + 1), to) >= 0;
+	}
+
+	/**
+	 * Binary search in a range of an IntBuffer
+	 *
+	 * @param buffer sorted in the range
+	 * @param from   first position
+	 * @param to     position after the last one
+	 * @param key    to look for
+	 * @return position of the key or -1 if it was not found
+	 */
+	private static int binarySearch(IntBuffer buffer, int from, int to, int key) {
+		int low = from;
+		int high = to - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			int value = buffer.get(middle);
+			if (value < key)
+				low = middle + 1;
+			else if (value > key)
+				high = middle - 1;
+			else
+				return middle;
+		}
+		return -1;
+	}
+
+}
@@ -0,0 +1,85 @@
+package graphs;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Read-only view of a Graph with all Edges reversed<br>
+ * Reads the incoming Edges of every Vertex from the index, which has to be
+ * enabled before {@link DirectedGraph#getReversedView()}, so the view shares
+ * the storage of the Graph and reflects its later changes.
+ *
+ * @param <T> type of the data
+ */
+public class ReversedGraphView<T> implements GraphView<T> {
+
+	private final DirectedGraph<T> graph;
+
+	/**
+	 * Creates a new view
+	 * 
+	 * @param graph to reverse
+	 */
+	ReversedGraphView(DirectedGraph<T> graph) {
+		this.graph = graph;
+	}
+
+	@Override
+	public boolean containsVertex(int id) {
+		return graph.getVertex(id) != null;
+	}
+
+	@Override
+	public List<Integer> getVertexIds() {
+		return graph.getAllVertices().stream()
+				.map(Vertex::getId)
+				.collect(Collectors.toList());
+	}
+
+	@Override
+	public int getVertexCount() {
+		return graph.getVertexCount();
+	}
+
+	@Override
+	public List<Integer> getAdjacentIds(int id) {
+		if (!containsVertex(id))
+			return List.of();
+		return graph.getVertex(id).getIncomingEdges().stream()
+				.map(edge -> edge.getFrom().getId())
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Get a list of all Edges in the view
+	 * 
+	 * @return list of new Edges between the Vertices of the underlying Graph,
+	 *         pointing the other way
+	 */
+	@Override
+	public List<Edge<T>> getAllEdges() {
+		return graph.getAllEdges().stream()
+				.map(edge -> new Edge<>(edge.getTo(), edge.getFrom()))
+				.collect(Collectors.toList());
+	}
+
+	@Override
+	public DirectedGraph<T> materialize() {
+
+		DirectedGraph<T> reversedGraph = new DirectedGraph<>();
+		List<Vertex<T>> vertices = graph.getAllVertices();
+
+		for (Vertex<T> vertex : vertices)
+			reversedGraph.addVertex(vertex.cloneWithoutEdges());
+
+		// the incoming Edges of a Vertex are unique, so are the reversed ones
+		for (Vertex<T> vertex : vertices) {
+			Vertex<T> vertexCopy = reversedGraph.getVertex(vertex.getId());
+			for (Edge<T> edge : vertex.getIncomingEdges())
+				vertexCopy.appendUnchecked(reversedGraph.getVertex(edge.getFrom().getId()));
+		}
+
+		return reversedGraph;
+	}
+
+}
@@ -0,0 +1,90 @@
+package graphs;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Read-only view of the Subgraph induced by a set of Vertex ids<br>
+ * Nothing is copied: every query filters the underlying Graph through the id
+ * set, so the view reflects later changes of the Graph. A mutable copy is only
+ * created by {@link #materialize()}, in time linear in the size of the
+ * Subgraph.
+ *
+ * @param <T> type of the data
+ */
+public class SubGraphView<T> implements GraphView<T> {
+
+	private final DirectedGraph<T> graph;
+	// mask of the Vertices to keep, ids missing in the Graph are ignored
+	private final Set<Integer> ids;
+
+	/**
+	 * Creates a new view
+	 * 
+	 * @param graph to filter
+	 * @param ids   of the Vertices to keep
+	 */
+	SubGraphView(DirectedGraph<T> graph, Set<Integer> ids) {
+		this.graph = graph;
+		this.ids = ids;
+	}
+
+	@Override
+	public boolean containsVertex(int id) {
+		return ids.contains(id) && graph.getVertex(id) != null;
+	}
+
+	@Override
+	public List<Integer> getVertexIds() {
+		return ids.stream()
+				.filter(id -> graph.getVertex(id) != null)
+				.collect(Collectors.toList());
+	}
+
+	@Override
+	public int getVertexCount() {
+		return (int) ids.stream().filter(id -> graph.getVertex(id) != null).count();
+	}
+
+	@Override
+	public List<Integer> getAdjacentIds(int id) {
+		if (!containsVertex(id))
+			return List.of();
+		return graph.getVertex(id).getEdges().stream()
+				.map(edge -> edge.getTo().getId())
+				.filter(ids::contains)
+				.collect(Collectors.toList());
+	}
+
+	@Override
+	public List<Edge<T>> getAllEdges() {
+		return getVertexIds().stream()
+				.flatMap(id -> graph.getVertex(id).getEdges().stream())
+				.filter(edge -> ids.contains(edge.getTo().getId()))
+				.collect(Collectors.toList());
+	}
+
+	@Override
+	public DirectedGraph<T> materialize() {
+
+		DirectedGraph<T> subGraph = new DirectedGraph<>();
+		List<Integer> vertexIds = getVertexIds();
+
+		for (int id : vertexIds)
+			subGraph.addVertex(graph.getVertex(id).cloneWithoutEdges());
+
+		// the Edges of the Graph are unique, so are the copied ones
+		for (int id : vertexIds) {
+			Vertex<T> vertexCopy = subGraph.getVertex(id);
+			for (Edge<T> edge : graph.getVertex(id).getEdges()) {
+				Vertex<T> target = subGraph.getVertex(edge.getTo().getId());
+				if (target != null)
+					vertexCopy.appendUnchecked(target);
+			}
+		}
+
+		return subGraph;
+	}
+
+}
@@ -1,12 +1,21 @@
 package graphs;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
- * Consists of an ID, data and outgoing connected Edges
+ * Consists of an ID, data and outgoing connected Edges<br>
+ * The incoming Edges can additionally be indexed by the id of their source, see
+ * {@link DirectedGraph#enableIncomingIndex()}, so an Edge pointing at the
+ * Vertex is found or removed in constant time. Every Edge knows its position in
+ * the outgoing Edges of its source, which fills the gap of a removed Edge with
+ * its last one
  *
  * @param <T> type of the data
  */
@@ -15,6 +24,10 @@ public class Vertex<T> {
 	private int id;
 	private Optional<T> data;
 	private List<Edge<T>> edges;
+	// incoming Edges by source id, null unless the index is enabled
+	private Map<Integer, Edge<T>> incomingEdges;
+	// sum of the hashes of the outgoing Edges, kept up to date on every change
+	private long edgeFingerprint;
 
 	/**
 	 * Creates a new Vertex
@@ -46,20 +59,185 @@ public class Vertex<T> {
 	 * @return the created Edge
 	 */
 	public Edge<T> append(Vertex<T> vertex) {
-		remove(vertex.getId());
+		Edge<T> existing = findEdgeTo(vertex);
+		if (existing != null)
+			removeEdge(existing);
+		return appendUnchecked(vertex);
+	}
+
+	/**
+	 * Appends the Vertex without looking for an existing Edge to it, only for
+	 * bulk builds, which have already removed duplicates
+	 * 
+	 * @param vertex to append
+	 * @return the created Edge
+	 */
+	Edge<T> appendUnchecked(Vertex<T> vertex) {
 		Edge<T> edge = new Edge<>(this, vertex);
+		edge.position = edges.size();
 		edges.add(edge);
+		if (vertex.incomingEdges != null)
+			vertex.incomingEdges.put(id, edge);
+		edgeFingerprint += hashEdge(id, vertex.getId());
 		return edge;
 	}
 
 	/**
-	 * Removes the Vertex and its Edge by ID
+	 * Removes the Vertex and its Edge by ID<br>
+	 * Searches the outgoing Edges in O(out-degree). The last outgoing Edge takes
+	 * the place of the removed one. If the destination indexes its incoming
+	 * Edges, the Edge is removed from that index as well, otherwise only the
+	 * outgoing Edge is removed
 	 * 
 	 * @param id of the Vertex to look for
 	 * @return if the Vertex has been removed
 	 */
 	public boolean remove(int id) {
-		return edges.removeIf(edge -> edge.getTo().getId() == id);
+		for (Edge<T> edge : edges) {
+			if (edge.getTo().getId() == id) {
+				removeEdge(edge);
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Removes the Edge to the Vertex, in O(1) if the Vertex indexes its incoming
+	 * Edges
+	 * 
+	 * @param vertex destination of the Edge
+	 * @return if the Edge has been removed
+	 */
+	boolean remove(Vertex<T> vertex) {
+		Edge<T> edge = findEdgeTo(vertex);
+		if (edge == null)
+			return false;
+		removeEdge(edge);
+		return true;
+	}
+
+	/**
+	 * @param vertex destination of the Edge
+	 * @return Edge to the Vertex or null, found in O(1) if the Vertex indexes
+	 *         its incoming Edges and in O(out-degree) otherwise
+	 */
+	Edge<T> findEdgeTo(Vertex<T> vertex) {
+		if (vertex.incomingEdges != null) {
+			Edge<T> edge = vertex.incomingEdges.get(id);
+			return edge != null && edge.getFrom() == this ? edge : null;
+		}
+		for (Edge<T> edge : edges) {
+			if (edge.getTo() == vertex)
+				return edge;
+		}
+		return null;
+	}
+
+	/**
+	 * Removes an outgoing Edge in O(1), the last outgoing Edge takes its place
+	 * 
+	 * @param edge outgoing Edge of this Vertex
+	 */
+	private void removeEdge(Edge<T> edge) {
+		unlink(edge);
+		Vertex<T> to = edge.getTo();
+		if (to.incomingEdges != null)
+			to.incomingEdges.remove(id);
+	}
+
+	/**
+	 * Removes an outgoing Edge from the list without touching the index of its
+	 * destination
+	 * 
+	 * @param edge outgoing Edge of this Vertex
+	 */
+	private void unlink(Edge<T> edge) {
+		Edge<T> last = edges.remove(edges.size() - 1);
+		if (last != edge) {
+			edges.set(edge.position, last);
+			last.position = edge.position;
+		}
+		edgeFingerprint -= hashEdge(id, edge.getTo().getId());
+	}
+
+	/**
+	 * Removes all outgoing and incoming Edges in O(in-degree + out-degree), the
+	 * incoming ones are found through the index of this Vertex
+	 * 
+	 * @throws IllegalStateException if the incoming Edges aren't indexed
+	 */
+	void removeAllEdges() {
+		Map<Integer, Edge<T>> incoming = getIncomingIndex();
+		for (Edge<T> edge : incoming.values())
+			edge.getFrom().unlink(edge);
+		incoming.clear();
+		removeAllOutgoingEdges();
+	}
+
+	/**
+	 * Removes all outgoing Edges, the incoming ones are left to the caller
+	 */
+	void removeAllOutgoingEdges() {
+		for (Edge<T> edge : edges) {
+			if (edge.getTo().incomingEdges != null)
+				edge.getTo().incomingEdges.remove(id);
+		}
+		edges.clear();
+		edgeFingerprint = 0;
+	}
+
+	/**
+	 * Starts indexing the incoming Edges, which are appended from now on<br>
+	 * Edges which already point at the Vertex have to be added with
+	 * {@link #indexIncoming(Edge)}
+	 */
+	void enableIncomingIndex() {
+		if (incomingEdges == null)
+			incomingEdges = new LinkedHashMap<>();
+	}
+
+	/**
+	 * @param edge pointing at this Vertex to add to the index
+	 */
+	void indexIncoming(Edge<T> edge) {
+		incomingEdges.put(edge.getFrom().getId(), edge);
+	}
+
+	/**
+	 * @return true if the incoming Edges are indexed
+	 */
+	boolean hasIncomingIndex() {
+		return incomingEdges != null;
+	}
+
+	/**
+	 * @return order-independent hash of the outgoing Edges, in O(1)
+	 */
+	long getEdgeFingerprint() {
+		return edgeFingerprint;
+	}
+
+	/**
+	 * Hashes a single Edge, so sums of the hashes of different Edge sets rarely
+	 * collide
+	 * 
+	 * @param fromId id of the source
+	 * @param toId   id of the destination
+	 * @return 64-bit hash of the Edge
+	 */
+	static long hashEdge(int fromId, int toId) {
+		return Hashing.mix(((long) fromId << 32) | (toId & 0xFFFFFFFFL));
+	}
+
+	/**
+	 * Hashes a single Vertex id, independent of the Edge hashes
+	 * 
+	 * @param id of the Vertex
+	 * @return 64-bit hash of the id
+	 */
+	static long hashId(int id) {
+		return Hashing.mix((id & 0xFFFFFFFFL) ^ Hashing.GOLDEN_GAMMA);
 	}
 
 	public int getId() {
@@ -86,14 +264,55 @@ public class Vertex<T> {
 		return this.edges.size();
 	}
 
+	/**
+	 * @return read-only outgoing Edges, which follow later changes
+	 */
 	public List<Edge<T>> getEdges() {
-		return edges;
+		return Collections.unmodifiableList(edges);
+	}
+
+	/**
+	 * @return read-only incoming Edges, which follow later changes
+	 * @throws IllegalStateException if the incoming Edges aren't indexed
+	 */
+	public Collection<Edge<T>> getIncomingEdges() {
+		return Collections.unmodifiableCollection(getIncomingIndex().values());
 	}
 
 	public int getDegree() {
 		return edges.size();
 	}
 
+	/**
+	 * @return count of incoming Edges
+	 * @throws IllegalStateException if the incoming Edges aren't indexed
+	 */
+	public int getInDegree() {
+		return getIncomingIndex().size();
+	}
+
+	/**
+	 * @param id of the destination
+	 * @return true if there is an Edge to the Vertex, in O(out-degree)
+	 */
+	public boolean hasEdgeTo(int id) {
+		for (Edge<T> edge : edges) {
+			if (edge.getTo().getId() == id)
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * @return index of the incoming Edges
+	 * @throws IllegalStateException if the incoming Edges aren't indexed
+	 */
+	private Map<Integer, Edge<T>> getIncomingIndex() {
+		if (incomingEdges == null)
+			throw new IllegalStateException("Incoming Edges of Vertex " + id + " aren't indexed");
+		return incomingEdges;
+	}
+
 	/**
 	 * Deep copy Vertex without its Edges
 	 * 
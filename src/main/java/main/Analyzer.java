@@ -1,10 +1,17 @@
 package main;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
+import algo.CycleSet;
 import algo.Johnson;
+import algo.SearchMetrics;
+import graphs.CompactGraph;
 import graphs.DirectedGraph;
 import graphs.Vertex;
 
@@ -14,34 +21,102 @@ public class Analyzer {
 	static final String basepath = "testGraphs/";
 
 	/**
-	 * Find simple cycles in a Graph and display them
+	 * Find simple cycles in a Graph and display them<br>
+	 * Usage: Analyzer [--count | --histogram] [--max-length=k] [--parallel]
+	 * [--metrics] [file]<br>
+	 * --count only counts the cycles and --histogram counts them by length,
+	 * without creating the cycles, --max-length=k skips cycles with more than k
+	 * Vertices, --parallel maps the file into memory, parses and searches it on
+	 * all cores and --metrics measures the search, publishes the measurements
+	 * over JMX and prints a summary
 	 * 
 	 * @param args
 	 * @throws Exception if the file can't be found or read
 	 */
 	public static void main(String[] args) throws Exception {
 
-		DirectedGraph<Integer> graph = DirectedGraph.fromFile(basepath + filename);
+		String mode = "--cycles";
+		String path = basepath + filename;
+		int maxLength = Integer.MAX_VALUE;
+		ForkJoinPool pool = null;
+		SearchMetrics metrics = null;
+		for (String arg : args) {
+			if (arg.equals("--parallel"))
+				pool = ForkJoinPool.commonPool();
+			else if (arg.equals("--metrics"))
+				metrics = new SearchMetrics();
+			else if (arg.startsWith("--max-length="))
+				maxLength = Integer.parseInt(arg.substring("--max-length=".length()));
+			else if (arg.startsWith("--"))
+				mode = arg;
+			else
+				path = arg;
+		}
+		String graphName = Paths.get(path).getFileName().toString();
 
 		Johnson<Integer> johnson = new Johnson<>();
+		johnson.setMaxLength(maxLength);
+		johnson.setPool(pool);
+		if (metrics != null) {
+			metrics.register(graphName);
+			johnson.setMetricsListener(metrics);
+		}
 
-		List<DirectedGraph<Integer>> cycles = johnson.getSimpleCycles(graph);
+		switch (mode) {
+		case "--cycles":
+			displayCycles(graphName, johnson.getCycleSet(loadCompactGraph(path, pool)));
+			break;
+		case "--count":
+			displayCount(graphName, johnson.countSimpleCycles(loadCompactGraph(path, pool)));
+			break;
+		case "--histogram":
+			displayHistogram(graphName, johnson.cycleLengthHistogram(loadCompactGraph(path, pool)));
+			break;
+		default:
+			System.err.println("Unknown option " + mode);
+			System.err.println(
+					"Usage: Analyzer [--count | --histogram] [--max-length=k] [--parallel] [--metrics] [file]");
+			return;
+		}
 
-		displayCycles(cycles);
+		if (metrics != null)
+			displayMetrics(graphName, metrics);
 
 	}
 
+	/**
+	 * Loads a Graph in compact form
+	 * 
+	 * @param path of the file
+	 * @param pool to parse the file in parallel, null to read it sequentially
+	 * @return CompactGraph
+	 * @throws IOException if the file can't be read
+	 */
+	private static CompactGraph loadCompactGraph(String path, ForkJoinPool pool) throws IOException {
+		return pool == null ? CompactGraph.fromFile(path) : CompactGraph.fromMappedFile(path, pool);
+	}
+
 	/**
 	 * Pretty print a list of Cycles (Graphs)
 	 * 
 	 * @param cycles
 	 */
 	public static void displayCycles(List<DirectedGraph<Integer>> cycles) {
+		displayCycles(filename, cycles);
+	}
+
+	/**
+	 * Pretty print a list of Cycles (Graphs)
+	 * 
+	 * @param graphName name of the searched Graph
+	 * @param cycles
+	 */
+	public static void displayCycles(String graphName, List<DirectedGraph<Integer>> cycles) {
 
 		ConsoleTable table = new ConsoleTable(ConsoleTable.Align.Left, ConsoleTable.Align.Left);
 
 		// set headers
-		table.addHeaderRow("Graph", filename);
+		table.addHeaderRow("Graph", graphName);
 		table.addHeaderRow("Cycles", Integer.toString(cycles.size()));
 
 		// create number string formats
@@ -65,6 +140,124 @@ public class Analyzer {
 		table.display();
 	}
 
+	/**
+	 * Pretty print a set of Cycles
+	 * 
+	 * @param graphName name of the searched Graph
+	 * @param cycles
+	 */
+	public static void displayCycles(String graphName, CycleSet cycles) {
+
+		ConsoleTable table = new ConsoleTable(ConsoleTable.Align.Left, ConsoleTable.Align.Left);
+
+		// set headers
+		table.addHeaderRow("Graph", graphName);
+		table.addHeaderRow("Cycles", Integer.toString(cycles.size()));
+
+		// create number string formats
+		int[] idRange = { Integer.MAX_VALUE, Integer.MIN_VALUE };
+		cycles.forEachCycle((cycle, length) -> {
+			for (int i = 0; i < length; i++) {
+				idRange[0] = Math.min(idRange[0], cycle[i]);
+				idRange[1] = Math.max(idRange[1], cycle[i]);
+			}
+			return true;
+		});
+		final String cycleIndexFormat = getUniformIntFormat(cycles.size() - 1);
+		final String cycleLengthFormat = getUniformIntFormat(cycles.getMaxLength());
+		final String vertexIndexFormat = cycles.isEmpty() ? getUniformIntFormat()
+				: getUniformIntFormat(idRange[0], idRange[1]);
+		final String cycleHeaderFormat = "Cycle " + cycleIndexFormat + " (length " + cycleLengthFormat + ")";
+
+		// fill table
+		int[] index = { 0 };
+		cycles.forEachCycle((cycle, length) -> {
+			String name = String.format(cycleHeaderFormat, ++index[0], length);
+			table.addBodyRow(name, cycleToString(cycle, length, vertexIndexFormat));
+			return true;
+		});
+
+		table.display();
+	}
+
+	/**
+	 * Pretty print the count of Cycles
+	 * 
+	 * @param graphName name of the searched Graph
+	 * @param count     of Cycles
+	 */
+	public static void displayCount(String graphName, long count) {
+
+		ConsoleTable table = new ConsoleTable(ConsoleTable.Align.Left, ConsoleTable.Align.Left);
+
+		table.addHeaderRow("Graph", graphName);
+		table.addHeaderRow("Cycles", Long.toString(count));
+
+		table.display();
+	}
+
+	/**
+	 * Pretty print the count of Cycles for each length
+	 * 
+	 * @param graphName name of the searched Graph
+	 * @param histogram count of Cycles, indexed by length
+	 */
+	public static void displayHistogram(String graphName, long[] histogram) {
+
+		ConsoleTable table = new ConsoleTable(ConsoleTable.Align.Left, ConsoleTable.Align.Right);
+
+		// set headers
+		table.addHeaderRow("Graph", graphName);
+		table.addHeaderRow("Cycles", Long.toString(LongStream.of(histogram).sum()));
+
+		// fill table
+		for (int length = 1; length < histogram.length; length++) {
+			if (histogram[length] > 0)
+				table.addBodyRow("Length " + length, Long.toString(histogram[length]));
+		}
+
+		table.display();
+	}
+
+	/**
+	 * Pretty print the measurements of a search
+	 * 
+	 * @param graphName name of the searched Graph
+	 * @param metrics   of the search
+	 */
+	public static void displayMetrics(String graphName, SearchMetrics metrics) {
+
+		ConsoleTable table = new ConsoleTable(ConsoleTable.Align.Left, ConsoleTable.Align.Right);
+
+		// set headers
+		table.addHeaderRow("Graph", graphName);
+		table.addHeaderRow("Metric", "Value");
+
+		// fill table
+		table.addBodyRow("Components found", Long.toString(metrics.getComponentsFound()));
+		table.addBodyRow("Component detection (ms)", formatMillis(metrics.getComponentDetectionNanos()));
+		table.addBodyRow("Components searched", Long.toString(metrics.getComponentsSearched()));
+		table.addBodyRow("Start vertices searched", Long.toString(metrics.getStartVerticesSearched()));
+		table.addBodyRow("Vertices visited", Long.toString(metrics.getVerticesVisited()));
+		table.addBodyRow("Edges scanned", Long.toString(metrics.getEdgesScanned()));
+		table.addBodyRow("Unblock cascades", Long.toString(metrics.getUnblockCascades()));
+		table.addBodyRow("Cycles emitted", Long.toString(metrics.getCyclesEmitted()));
+		table.addBodyRow("Max stack depth", Integer.toString(metrics.getMaxStackDepth()));
+		table.addBodyRow("Search time (ms)", formatMillis(metrics.getSearchNanos()));
+		table.addBodyRow("Slowest component (ms)", formatMillis(metrics.getMaxComponentNanos()));
+		table.addBodyRow("Slowest start vertex (ms)", formatMillis(metrics.getMaxStartVertexNanos()));
+
+		table.display();
+	}
+
+	/**
+	 * @param nanos time in nanoseconds
+	 * @return time in milliseconds with three decimals
+	 */
+	private static String formatMillis(long nanos) {
+		return String.format("%.3f", nanos / 1e6);
+	}
+
 	/**
 	 * Converts a Graph, which consists of a Cycle into a String separated by
 	 * arrows
@@ -92,6 +285,26 @@ public class Analyzer {
 		return buffer.toString();
 	}
 
+	/**
+	 * Converts a Cycle of Vertex ids into a String separated by arrows
+	 * 
+	 * @param cycle             Vertex ids in order of the Cycle
+	 * @param length            count of Vertices in the Cycle
+	 * @param vertexIndexFormat format of a single id
+	 * @return 01 -> 02 -> ... -> 01
+	 */
+	public static String cycleToString(int[] cycle, int length, String vertexIndexFormat) {
+
+		StringBuilder builder = new StringBuilder();
+
+		for (int i = 0; i < length; i++)
+			builder.append(String.format(vertexIndexFormat + " -> ", cycle[i]));
+
+		builder.append(String.format(vertexIndexFormat, cycle[0]));
+
+		return builder.toString();
+	}
+
 	/**
 	 * Creates a uniform format, which fits all input numbers to display them with
 	 * equal width<br>
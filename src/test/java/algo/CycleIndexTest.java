@@ -0,0 +1,74 @@
+package algo;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import generators.CompleteGraphGenerator;
+import graphs.DirectedGraph;
+
+class CycleIndexTest {
+
+	@Test
+	void testCanonicalize() {
+		int[] cycle = { 7, 9, 3, 5, 0 };
+		CycleIndex.canonicalize(cycle, 4);
+		assertArrayEquals(new int[] { 3, 5, 7, 9, 0 }, cycle);
+	}
+
+	@Test
+	void testFingerprintIgnoresRotation() {
+		long fingerprint = CycleIndex.fingerprint(new int[] { 1, 2, 3 }, 3);
+		assertEquals(fingerprint, CycleIndex.fingerprint(new int[] { 2, 3, 1 }, 3));
+		assertEquals(fingerprint, CycleIndex.fingerprint(new int[] { 3, 1, 2, 4 }, 3));
+		assertNotEquals(fingerprint, CycleIndex.fingerprint(new int[] { 1, 3, 2 }, 3));
+		assertNotEquals(fingerprint, CycleIndex.fingerprint(new int[] { 1, 2 }, 2));
+	}
+
+	@Test
+	void testAddAndContains() {
+		CycleIndex index = new CycleIndex();
+		assertTrue(index.add(new int[] { 4, 2, 3 }, 3));
+		assertFalse(index.add(new int[] { 2, 3, 4 }, 3));
+		assertTrue(index.add(new int[] { 2, 4, 3 }, 3));
+		assertTrue(index.add(new int[] { -1 }, 1));
+
+		assertEquals(3, index.size());
+		assertTrue(index.contains(new int[] { 3, 4, 2 }, 3));
+		assertTrue(index.contains(new int[] { -1 }, 1));
+		assertFalse(index.contains(new int[] { 2, 3 }, 2));
+		assertArrayEquals(new int[] { 2, 3, 4 }, index.getCycles().get(0));
+	}
+
+	@Test
+	void testDifferenceAndSortedOutput() throws Exception {
+		DirectedGraph<Integer> graph = new CompleteGraphGenerator(8).toDirectedGraph();
+		Johnson<Integer> johnson = new Johnson<>();
+		CycleIndex all = CycleIndex.of(johnson.getCycleSet(graph));
+
+		graph.removeEdge(0, 1);
+		CycleIndex withoutEdge = CycleIndex.of(johnson.getCycleSet(graph));
+
+		// every cycle through 0 -> 1 is gone, nothing new appears
+		CycleIndex removed = all.difference(withoutEdge);
+		assertEquals(all.size() - withoutEdge.size(), removed.size());
+		assertEquals(0, withoutEdge.difference(all).size());
+		removed.getCycles().forEachCycle((cycle, length) -> {
+			assertEquals(0, cycle[0]);
+			assertEquals(1, cycle[1 % length]);
+			return true;
+		});
+
+		CycleSet sorted = removed.toSortedSet();
+		assertEquals(removed.size(), sorted.size());
+		assertArrayEquals(new int[] { 0, 1 }, sorted.get(0));
+		assertArrayEquals(new int[] { 0, 1, 2 }, sorted.get(1));
+		for (int i = 1; i < sorted.size(); i++)
+			assertTrue(sorted.compare(i - 1, i) < 0);
+	}
+
+}
@@ -0,0 +1,78 @@
+package algo;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import graphs.DirectedGraph;
+
+class CycleSetTest {
+
+	@Test
+	void testCyclesAcrossChunks() {
+		CycleSet cycles = new CycleSet();
+		List<int[]> expected = new ArrayList<>();
+
+		// short cycles fill several chunks, the long one spans more than a chunk
+		for (int i = 0; i < 50_000; i++)
+			expected.add(new int[] { i, i + 1, i + 2 });
+		expected.add(IntStream.range(0, 100_000).toArray());
+		for (int i = 0; i < 10; i++)
+			expected.add(new int[] { i });
+		for (int[] cycle : expected)
+			cycles.add(cycle, cycle.length);
+
+		assertEquals(expected.size(), cycles.size());
+		assertEquals(150_000 + 100_000 + 10, cycles.getIdCount());
+		assertEquals(100_000, cycles.getMaxLength());
+		for (int i = 0; i < expected.size(); i++)
+			assertArrayEquals(expected.get(i), cycles.get(i));
+		assertEquals(99_999, cycles.getVertexId(50_000, 99_999));
+
+		int[] index = { 0 };
+		assertTrue(cycles.forEachCycle((cycle, length) -> {
+			assertArrayEquals(expected.get(index[0]++), Arrays.copyOf(cycle, length));
+			return true;
+		}));
+		assertEquals(expected.size(), index[0]);
+
+		index[0] = 0;
+		for (int[] cycle : cycles)
+			assertArrayEquals(expected.get(index[0]++), cycle);
+	}
+
+	@Test
+	void testInvalidIndex() {
+		CycleSet cycles = new CycleSet();
+		assertTrue(cycles.isEmpty());
+		assertThrows(IndexOutOfBoundsException.class, () -> cycles.get(0));
+
+		cycles.add(new int[] { 1, 2 }, 2);
+		assertFalse(cycles.isEmpty());
+		assertThrows(IndexOutOfBoundsException.class, () -> cycles.get(1));
+		assertThrows(IndexOutOfBoundsException.class, () -> cycles.getVertexId(0, 2));
+	}
+
+	@Test
+	void testSameCyclesAsGraphs() throws Exception {
+		DirectedGraph<Integer> graph = DirectedGraph.fromFile("testGraphs/kube.txt");
+		Johnson<Integer> johnson = new Johnson<>();
+
+		CycleSet cycles = johnson.getCycleSet(graph);
+		List<DirectedGraph<Integer>> cycleGraphs = johnson.getSimpleCycles(graph);
+
+		assertEquals(cycleGraphs.size(), cycles.size());
+		for (int i = 0; i < cycles.size(); i++)
+			assertEquals(cycleGraphs.get(i), cycles.toGraph(i, graph));
+	}
+
+}
@@ -0,0 +1,77 @@
+package algo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import graphs.CompactGraph;
+import graphs.DirectedGraph;
+
+class DynamicComponentsTest {
+
+	@Test
+	void testMergeAndSplit() {
+		DirectedGraph<Integer> graph = new DirectedGraph<>();
+		graph.addTrack(1, 2, 3, 4);
+		DynamicComponents<Integer> components = new DynamicComponents<>(graph);
+		assertEquals(4, components.getComponentCount());
+		assertFalse(components.isOnCycle(2));
+
+		// closes 2 -> 3 -> 4 -> 2, but leaves 1 outside
+		assertTrue(components.addEdge(4, 2));
+		assertEquals(2, components.getComponentCount());
+		assertTrue(components.isOnCycle(3));
+		assertFalse(components.isOnCycle(1));
+		assertEquals(components.componentOf(2), components.componentOf(4));
+		assertEquals(3, components.getMembers(components.componentOf(2)).length);
+
+		assertFalse(components.addEdge(1, 1));
+		assertTrue(components.isOnCycle(1));
+		assertEquals(-1, components.componentOf(5));
+		assertFalse(components.removeEdge(1, 1));
+		assertFalse(components.isOnCycle(1));
+
+		assertTrue(components.removeEdge(3, 4));
+		assertEquals(4, components.getComponentCount());
+		assertFalse(components.isOnCycle(3));
+
+		// the order after the split still detects new cycles
+		assertFalse(components.addEdge(4, 3));
+		assertTrue(components.addEdge(3, 4));
+		assertTrue(components.addEdge(3, 1));
+		assertEquals(1, components.getComponentCount());
+	}
+
+	@Test
+	void testMatchesTarjan() {
+		Random random = new Random(7);
+		DirectedGraph<Integer> graph = new DirectedGraph<>();
+		for (int i = 0; i < 30; i++)
+			graph.addEdge(random.nextInt(40), random.nextInt(40));
+		DynamicComponents<Integer> components = new DynamicComponents<>(graph);
+
+		for (int step = 0; step < 2000; step++) {
+			int from = random.nextInt(40);
+			int to = random.nextInt(40);
+			if (graph.getVertex(from) != null && graph.getVertex(from).hasEdgeTo(to))
+				components.removeEdge(from, to);
+			else if (random.nextInt(3) > 0)
+				components.addEdge(from, to);
+
+			StronglyConnectedComponents expected = new Tarjan().getStronglyConnectedComponents(graph);
+			CompactGraph compact = expected.getGraph();
+			assertEquals(expected.getComponentCount(), components.getComponentCount());
+			for (int index = 0; index < compact.getVertexCount(); index++) {
+				int id = compact.getId(index);
+				int first = compact.getId(expected.getMembers(expected.componentOf(index))[0]);
+				assertTrue(components.isInSameComponent(id, first));
+				assertEquals(expected.isCyclic(expected.componentOf(index)), components.isOnCycle(id));
+			}
+		}
+	}
+
+}
@@ -0,0 +1,76 @@
+package algo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import graphs.DirectedGraph;
+
+class IncrementalCyclesTest {
+
+	@Test
+	void testAddAndRemoveEdges() {
+		DirectedGraph<Integer> graph = new DirectedGraph<>();
+		graph.addTrack(1, 2, 3);
+		IncrementalCycles<Integer> cycles = new IncrementalCycles<>(graph);
+		assertEquals(3, cycles.getComponents().getComponentCount());
+
+		CycleSet added = cycles.addEdge(3, 1);
+		assertEquals(1, added.size());
+		assertEquals("[1, 2, 3]", Arrays.toString(added.get(0)));
+		assertTrue(cycles.isInSameComponent(1, 3));
+		assertEquals(1, cycles.getComponents().getComponentCount());
+
+		// only the new cycle through 2 -> 1 is reported
+		added = cycles.addEdge(2, 1);
+		assertEquals(1, added.size());
+		assertEquals("[1, 2]", Arrays.toString(added.get(0)));
+		assertEquals(0, cycles.addEdge(2, 1).size());
+
+		assertEquals(1, cycles.addEdge(4, 4).size());
+		assertEquals(1, cycles.removeEdge(4, 4).size());
+		assertEquals(0, cycles.removeEdge(4, 4).size());
+
+		// 1 -> 2 is part of both cycles
+		assertEquals(2, cycles.removeEdge(1, 2).size());
+		assertFalse(cycles.isInSameComponent(1, 2));
+		assertEquals(0, cycles.removeEdge(1, 2).size());
+	}
+
+	@Test
+	void testMatchesFullSearch() {
+		Random random = new Random(42);
+		DirectedGraph<Integer> graph = new DirectedGraph<>();
+		for (int i = 0; i < 12; i++)
+			graph.addEdge(random.nextInt(10), random.nextInt(10));
+
+		IncrementalCycles<Integer> incremental = new IncrementalCycles<>(graph);
+		Johnson<Integer> johnson = new Johnson<>();
+		CycleIndex known = CycleIndex.of(johnson.getCycleSet(graph));
+
+		for (int step = 0; step < 300; step++) {
+			int from = random.nextInt(10);
+			int to = random.nextInt(10);
+			boolean remove = graph.getVertex(from) != null && graph.getVertex(from).hasEdgeTo(to)
+					&& random.nextBoolean();
+			CycleSet changed = remove ? incremental.removeEdge(from, to) : incremental.addEdge(from, to);
+
+			CycleIndex current = CycleIndex.of(johnson.getCycleSet(graph));
+			CycleIndex expected = remove ? known.difference(current) : current.difference(known);
+			CycleIndex actual = CycleIndex.of(changed);
+			assertEquals(changed.size(), actual.size());
+			assertEquals(0, expected.difference(actual).size());
+			assertEquals(0, actual.difference(expected).size());
+			known = current;
+
+			StronglyConnectedComponents components = new Tarjan().getStronglyConnectedComponents(graph);
+			assertEquals(components.getComponentCount(), incremental.getComponents().getComponentCount());
+		}
+	}
+
+}
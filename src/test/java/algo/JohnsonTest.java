@@ -1,21 +1,43 @@
 package algo;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import graphs.CompactGraph;
 import graphs.DirectedGraph;
 
 class JohnsonTest {
 
+	private static ForkJoinPool pool;
+
 	private Johnson<Integer> johnson;
 
+	@BeforeAll
+	static void createPool() {
+		pool = new ForkJoinPool(4);
+	}
+
+	@AfterAll
+	static void shutdownPool() {
+		pool.shutdown();
+	}
+
 	@BeforeEach
 	void setUp() {
 		johnson = new Johnson<>();
@@ -60,33 +82,262 @@ class JohnsonTest {
 		performTestForFile("testGraphs/data.txt", expectedGraphs);
 	}
 
+	@Test
+	void testCompactDataCycles() {
+		List<DirectedGraph<Integer>> expectedGraphs = new ArrayList<>();
+		expectedGraphs.add(DirectedGraph.fromString("{1,2}\n{2,3}\n{3,1}"));
+		expectedGraphs.add(DirectedGraph.fromString("{8,9}\n{9,8}"));
+		expectedGraphs.add(DirectedGraph.fromString("{1,5}\n{5,2}\n{2,3}\n{3,1}"));
+		expectedGraphs.add(DirectedGraph.fromString("{2,3}\n{3,2}"));
+		expectedGraphs.add(DirectedGraph.fromString("{2,3}\n{3,4}\n{4,5}\n{5,2}"));
+		expectedGraphs.add(DirectedGraph.fromString("{2,3}\n{3,6}\n{6,4}\n{4,5}\n{5,2}"));
+
+		performCompactTestForFile("testGraphs/data.txt", expectedGraphs);
+	}
+
+	@Test
+	void testCompactSelfLoop() {
+		List<DirectedGraph<Integer>> expectedGraphs = new ArrayList<>();
+		expectedGraphs.add(createGraphByTrack(4, 4));
+		expectedGraphs.add(createGraphByTrack(1, 2, 1));
+
+		assertCycles(expectedGraphs, johnson.getSimpleCycles(CompactGraph.fromString("{1,2} {2,1} {2,4} {4,4}")));
+	}
+
+	@Test
+	void testForEachSimpleCycleStopsEarly() throws Exception {
+		DirectedGraph<Integer> graph = DirectedGraph.fromFile("testGraphs/data.txt");
+		int[] count = new int[1];
+
+		boolean completed = johnson.forEachSimpleCycle(graph, (cycle, length) -> ++count[0] < 2);
+
+		assertFalse(completed);
+		assertEquals(2, count[0]);
+	}
+
+	@Test
+	void testCountAndHistogram() throws Exception {
+		CompactGraph graph = CompactGraph.fromFile("testGraphs/data.txt");
+
+		assertEquals(6, johnson.countSimpleCycles(graph));
+		assertArrayEquals(new long[] { 0, 0, 2, 1, 2, 1 }, johnson.cycleLengthHistogram(graph));
+		assertArrayEquals(new long[] { 0 }, johnson.cycleLengthHistogram(CompactGraph.fromFile("testGraphs/noCycle.txt")));
+	}
+
+	@Test
+	void testMaxLengthMatchesFilteredCycles() throws Exception {
+		CompactGraph graph = CompactGraph.fromFile("testGraphs/kube.txt");
+		long[] histogram = johnson.cycleLengthHistogram(graph);
+		List<String> allCycles = toSortedStrings(johnson.simpleCycles(graph).collect(Collectors.toList()));
+
+		for (int maxLength = 1; maxLength <= histogram.length; maxLength++) {
+			int limit = maxLength;
+			Johnson<Integer> bounded = new Johnson<>();
+			bounded.setMaxLength(limit);
+
+			long expected = Arrays.stream(histogram, 0, Math.min(limit + 1, histogram.length)).sum();
+			assertEquals(expected, bounded.countSimpleCycles(graph));
+			assertEquals(allCycles.stream().filter(cycle -> cycle.split(",").length <= limit).collect(Collectors.toList()),
+					toSortedStrings(bounded.simpleCycles(graph).collect(Collectors.toList())));
+		}
+	}
+
+	@Test
+	void testSimpleCyclesStream() throws Exception {
+		DirectedGraph<Integer> graph = DirectedGraph.fromFile("testGraphs/data.txt");
+
+		List<int[]> cycles = johnson.simpleCycles(graph).collect(Collectors.toList());
+
+		assertEquals(6, cycles.size());
+		assertTrue(cycles.stream().anyMatch(cycle -> Arrays.equals(new int[] { 8, 9 }, cycle)));
+		assertEquals(3, johnson.simpleCycles(graph).limit(3).count());
+	}
+
+	@Test
+	void testLongCycleDoesNotOverflowStack() {
+		int length = 200_000;
+		int[] fromIds = new int[length];
+		int[] toIds = new int[length];
+		for (int i = 0; i < length; i++) {
+			fromIds[i] = i;
+			toIds[i] = (i + 1) % length;
+		}
+
+		int[] cycle = johnson.simpleCycles(CompactGraph.fromEdges(fromIds, toIds, length)).findFirst().get();
+
+		assertArrayEquals(fromIds, cycle);
+	}
+
+	@Test
+	void testOnlyStartsOnCyclesAreSearched() {
+		int length = 200_000;
+		DirectedGraph<Integer> graph = new DirectedGraph<>();
+		for (int i = 0; i < length; i++)
+			graph.addEdge(i, (i + 1) % length);
+		graph.addEdge(0, 2);
+
+		List<DirectedGraph<Integer>> cycles = johnson.getSimpleCycles(graph);
+
+		assertEquals(2, cycles.size());
+		assertTrue(cycles.stream().anyMatch(cycle -> cycle.getVertexCount() == length));
+		assertTrue(cycles.stream().anyMatch(cycle -> cycle.getVertexCount() == length - 1));
+	}
+
+	@Test
+	void testSearchDoesNotAllocatePerCycle() {
+		DirectedGraph<Integer> graph = new DirectedGraph<>();
+		for (int from = 0; from < 9; from++)
+			for (int to = 0; to < 9; to++)
+				if (from != to)
+					graph.addEdge(from, to);
+		CompactGraph compactGraph = CompactGraph.fromGraph(graph);
+		long[] count = new long[1];
+		CycleConsumer counter = (cycle, length) -> {
+			count[0]++;
+			return true;
+		};
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory
+				.getThreadMXBean();
+
+		// warm up class loading and the lambdas
+		johnson.forEachSimpleCycle(compactGraph, counter);
+		count[0] = 0;
+
+		long allocatedBefore = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+		johnson.forEachSimpleCycle(compactGraph, counter);
+		long allocated = threads.getThreadAllocatedBytes(Thread.currentThread().getId()) - allocatedBefore;
+
+		// 125,664 cycles, while the search itself only needs a few arrays per component
+		assertEquals(125_664, count[0]);
+		assertTrue(allocated < 64 * 1024, "allocated " + allocated + " bytes");
+	}
+
+	@Test
+	void testParallelComponentsFindSameCycles() {
+		DirectedGraph<Integer> graph = new DirectedGraph<>();
+		for (int component = 0; component < 20; component++) {
+			int size = 2 + component % 4;
+			for (int from = 0; from < size; from++)
+				for (int to = 0; to < size; to++)
+					if (from != to)
+						graph.addEdge(component * 10 + from, component * 10 + to);
+			graph.addEdge(component * 10, component * 10 + 10);
+		}
+
+		List<String> expectedCycles = toSortedStrings(johnson.simpleCycles(graph).collect(Collectors.toList()));
+
+		List<int[]> parallelCycles = Collections.synchronizedList(new ArrayList<>());
+		johnson.setPool(pool);
+		boolean completed = johnson.forEachSimpleCycle(graph, (cycle, length) -> {
+			parallelCycles.add(Arrays.copyOf(cycle, length));
+			return true;
+		});
+
+		assertTrue(completed);
+		assertEquals(expectedCycles, toSortedStrings(parallelCycles));
+		assertEquals(expectedCycles.size(), johnson.getSimpleCycles(graph).size());
+	}
+
+	@Test
+	void testParallelStartVerticesFindSameCycles() {
+		DirectedGraph<Integer> graph = new DirectedGraph<>();
+		for (int from = 0; from < 7; from++)
+			for (int to = 0; to < 7; to++)
+				if (from != to)
+					graph.addEdge(from, to);
+		for (int i = 6; i < 40; i++)
+			graph.addEdge(i, (i + 1) % 40);
+
+		List<String> expectedCycles = toSortedStrings(johnson.simpleCycles(graph).collect(Collectors.toList()));
+
+		List<int[]> parallelCycles = Collections.synchronizedList(new ArrayList<>());
+		johnson.setPool(pool);
+		johnson.forEachSimpleCycle(graph, (cycle, length) -> {
+			parallelCycles.add(Arrays.copyOf(cycle, length));
+			return true;
+		});
+
+		assertEquals(2365 + 326, expectedCycles.size());
+		assertEquals(expectedCycles, toSortedStrings(parallelCycles));
+	}
+
+	@Test
+	void testMetricsCountSearch() {
+		DirectedGraph<Integer> graph = new DirectedGraph<>();
+		for (int from = 0; from < 5; from++)
+			for (int to = 0; to < 5; to++)
+				if (from != to)
+					graph.addEdge(from, to);
+		graph.addEdge(4, 5);
+
+		SearchMetrics metrics = new SearchMetrics();
+		johnson.setMetricsListener(metrics);
+		long cycleCount = johnson.countSimpleCycles(graph);
+
+		// components {0..4} and {5}, only the first one is cyclic
+		assertEquals(84, cycleCount);
+		assertEquals(1, metrics.getComponentDetections());
+		assertEquals(2, metrics.getComponentsFound());
+		assertEquals(1, metrics.getComponentsSearched());
+		assertEquals(4, metrics.getStartVerticesSearched());
+		assertEquals(cycleCount, metrics.getCyclesEmitted());
+		assertEquals(5, metrics.getMaxStackDepth());
+		assertTrue(metrics.getVerticesVisited() > 0);
+		assertTrue(metrics.getEdgesScanned() >= metrics.getVerticesVisited());
+		assertTrue(metrics.getUnblockCascades() > 0);
+
+		// the same searches run in the pool
+		long verticesVisited = metrics.getVerticesVisited();
+		metrics.reset();
+		johnson.setPool(pool);
+		assertEquals(cycleCount, johnson.countSimpleCycles(graph));
+		assertEquals(cycleCount, metrics.getCyclesEmitted());
+		assertEquals(verticesVisited, metrics.getVerticesVisited());
+		assertEquals(4, metrics.getStartVerticesSearched());
+	}
+
+	private List<String> toSortedStrings(List<int[]> cycles) {
+		return cycles.stream().map(Arrays::toString).sorted().collect(Collectors.toList());
+	}
+
 	private void performTestForFile(String graphFilePath, List<DirectedGraph<Integer>> expectedGraphs) {
 		try {
-			DirectedGraph<Integer> graph = DirectedGraph.fromFile(graphFilePath);
-			List<DirectedGraph<Integer>> resultingCycleGraphs = johnson.getSimpleCycles(graph);
-
-			boolean graphsEqual = expectedGraphs.size() == resultingCycleGraphs.size();
-			for (DirectedGraph<Integer> expectedGraph : expectedGraphs) {
-				if (resultingCycleGraphs.stream().noneMatch(result -> result.equals(expectedGraph))) {
-					graphsEqual = false;
-					break;
-				}
-			}
-			String errorMessage = "Expected cycle graphs and actual cycle graphs do not match.\nExpected:\n[" +
-					expectedGraphs.stream().map(Object::toString)
-							.collect(Collectors.joining("],\n[ "))
-					+
-					"]\nbut was: [" +
-					resultingCycleGraphs.stream().map(Object::toString)
-							.collect(Collectors.joining("]\n,[ "))
-					+ "]";
-
-			assertTrue(graphsEqual, errorMessage);
+			assertCycles(expectedGraphs, johnson.getSimpleCycles(DirectedGraph.fromFile(graphFilePath)));
 		} catch (Exception e) {
 			fail(e);
 		}
 	}
 
+	private void performCompactTestForFile(String graphFilePath, List<DirectedGraph<Integer>> expectedGraphs) {
+		try {
+			assertCycles(expectedGraphs, johnson.getSimpleCycles(CompactGraph.fromFile(graphFilePath)));
+		} catch (Exception e) {
+			fail(e);
+		}
+	}
+
+	private void assertCycles(List<DirectedGraph<Integer>> expectedGraphs,
+			List<DirectedGraph<Integer>> resultingCycleGraphs) {
+
+		boolean graphsEqual = expectedGraphs.size() == resultingCycleGraphs.size();
+		for (DirectedGraph<Integer> expectedGraph : expectedGraphs) {
+			if (resultingCycleGraphs.stream().noneMatch(result -> result.equals(expectedGraph))) {
+				graphsEqual = false;
+				break;
+			}
+		}
+		String errorMessage = "Expected cycle graphs and actual cycle graphs do not match.\nExpected:\n[" +
+				expectedGraphs.stream().map(Object::toString)
+						.collect(Collectors.joining("],\n[ "))
+				+
+				"]\nbut was: [" +
+				resultingCycleGraphs.stream().map(Object::toString)
+						.collect(Collectors.joining("]\n,[ "))
+				+ "]";
+
+		assertTrue(graphsEqual, errorMessage);
+	}
+
 	private DirectedGraph<Integer> createGraphByTrack(int... indices) {
 		DirectedGraph<Integer> graph = new DirectedGraph<>();
 		graph.addTrack(indices);
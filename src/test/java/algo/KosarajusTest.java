@@ -1,6 +1,7 @@
 package algo;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.List;
@@ -8,6 +9,7 @@ import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import graphs.CompactGraph;
 import graphs.DirectedGraph;
 
 class KosarajusTest {
@@ -56,6 +58,9 @@ class KosarajusTest {
 		cycle4.addSingleVertex(10);
 		assertTrue(cycles.contains(cycle4));
 
+		// the input Graph is left without an incoming index
+		assertFalse(graph.hasIncomingIndex());
+
 	}
 
 	@Test
@@ -90,4 +95,36 @@ class KosarajusTest {
 
 	}
 
+	@Test
+	void testFindCompactStronglyConnectedComponents() {
+
+		DirectedGraph<Integer> graph = new DirectedGraph<>();
+
+		graph.addTrack(0, 1, 2, 3, 0);
+		graph.addTrack(0, 3, 2, 1, 0);
+
+		graph.addEdge(2, 4);
+		graph.addEdge(3, 5);
+
+		graph.addTrack(4, 5, 4);
+
+		List<CompactGraph> components = kosarajus.getStronglyConnectedComponents(CompactGraph.fromGraph(graph));
+
+		assertEquals(2, components.size());
+
+		DirectedGraph<Integer> expectedGraph1 = new DirectedGraph<>();
+
+		expectedGraph1.addTrack(0, 1, 2, 3, 0);
+		expectedGraph1.addTrack(0, 3, 2, 1, 0);
+
+		assertTrue(expectedGraph1.equals(components.get(0).toDirectedGraph()));
+
+		DirectedGraph<Integer> expectedGraph2 = new DirectedGraph<>();
+
+		expectedGraph2.addTrack(4, 5, 4);
+
+		assertTrue(expectedGraph2.equals(components.get(1).toDirectedGraph()));
+
+	}
+
 }
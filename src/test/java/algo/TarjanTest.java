@@ -0,0 +1,106 @@
+package algo;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import graphs.CompactGraph;
+import graphs.DirectedGraph;
+
+class TarjanTest {
+
+	private Tarjan tarjan;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		tarjan = new Tarjan();
+	}
+
+	@Test
+	void testFindFourStronglyConnectedComponents() {
+
+		DirectedGraph<Integer> graph = new DirectedGraph<>();
+
+		graph.addTrack(1, 2, 0, 1);
+
+		graph.addTrack(1, 3);
+
+		graph.addTrack(3, 4, 5, 3);
+
+		graph.addTrack(6, 5);
+
+		graph.addTrack(6, 7, 8, 9, 6);
+
+		graph.addTrack(9, 10);
+
+		StronglyConnectedComponents components = tarjan.getStronglyConnectedComponents(graph);
+		CompactGraph compactGraph = components.getGraph();
+
+		assertEquals(4, components.getComponentCount());
+
+		int first = components.componentOf(compactGraph.indexOf(0));
+		int second = components.componentOf(compactGraph.indexOf(3));
+		int third = components.componentOf(compactGraph.indexOf(6));
+		int fourth = components.componentOf(compactGraph.indexOf(10));
+
+		assertArrayEquals(new int[] { 0, 1, 2 }, ids(compactGraph, components.getMembers(first)));
+		assertArrayEquals(new int[] { 3, 4, 5 }, ids(compactGraph, components.getMembers(second)));
+		assertArrayEquals(new int[] { 6, 7, 8, 9 }, ids(compactGraph, components.getMembers(third)));
+		assertArrayEquals(new int[] { 10 }, ids(compactGraph, components.getMembers(fourth)));
+
+		// reverse topological order
+		assertTrue(second < first);
+		assertTrue(second < third);
+		assertTrue(fourth < third);
+
+		assertFalse(components.isCyclic(fourth));
+
+		DirectedGraph<Integer> expectedGraph = new DirectedGraph<>();
+		expectedGraph.addTrack(6, 7, 8, 9, 6);
+		assertTrue(expectedGraph.equals(components.getSubGraph(third).toDirectedGraph()));
+
+	}
+
+	@Test
+	void testSelfLoopIsCyclic() {
+
+		StronglyConnectedComponents components = tarjan
+				.getStronglyConnectedComponents(CompactGraph.fromString("{1, 2} {2, 2}"));
+
+		assertEquals(2, components.getComponentCount());
+		assertTrue(components.isCyclic(components.componentOf(1)));
+		assertFalse(components.isCyclic(components.componentOf(0)));
+
+	}
+
+	@Test
+	void testLongPathDoesNotOverflowStack() {
+
+		int length = 500_000;
+		int[] fromIds = new int[length];
+		int[] toIds = new int[length];
+		for (int i = 0; i < length; i++) {
+			fromIds[i] = i;
+			toIds[i] = i + 1;
+		}
+
+		StronglyConnectedComponents components = tarjan
+				.getStronglyConnectedComponents(CompactGraph.fromEdges(fromIds, toIds, length));
+
+		assertEquals(length + 1, components.getComponentCount());
+		assertEquals(0, components.componentOf(length));
+
+	}
+
+	private int[] ids(CompactGraph graph, int[] indices) {
+		int[] ids = new int[indices.length];
+		for (int i = 0; i < indices.length; i++)
+			ids[i] = graph.getId(indices[i]);
+		return ids;
+	}
+
+}
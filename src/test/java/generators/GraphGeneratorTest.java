@@ -0,0 +1,67 @@
+package generators;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import algo.Johnson;
+import algo.Tarjan;
+import graphs.CompactGraph;
+import graphs.DirectedGraph;
+
+class GraphGeneratorTest {
+
+	private final Johnson<Integer> johnson = new Johnson<>();
+
+	@Test
+	void testCompleteGraphCycleCount() {
+		for (int n = 1; n <= 7; n++) {
+			CompleteGraphGenerator generator = new CompleteGraphGenerator(n);
+			assertEquals(generator.getCycleCount(), johnson.countSimpleCycles(generator.toCompactGraph()));
+		}
+		assertEquals(125_664, new CompleteGraphGenerator(9).getCycleCount());
+	}
+
+	@Test
+	void testComponentChain() {
+		ComponentChainGenerator generator = new ComponentChainGenerator(1_000, 3);
+		CompactGraph graph = generator.toCompactGraph();
+
+		assertEquals(3_000, graph.getVertexCount());
+		assertEquals(generator.getComponentCount(),
+				new Tarjan().getStronglyConnectedComponents(graph).getComponentCount());
+		assertEquals(generator.getCycleCount(), johnson.countSimpleCycles(graph));
+	}
+
+	@Test
+	void testRingOfRings() {
+		RingOfRingsGenerator generator = new RingOfRingsGenerator(50, 9);
+		long[] histogram = johnson.cycleLengthHistogram(generator.toCompactGraph());
+
+		assertEquals(generator.getCycleCount(), Arrays.stream(histogram).sum());
+		assertEquals(generator.getLongestCycleLength(), histogram.length - 1);
+		assertEquals(1, histogram[generator.getLongestCycleLength()]);
+	}
+
+	@Test
+	void testRandomGraphsAreReproducible() throws Exception {
+		GraphGenerator erdosRenyi = new ErdosRenyiGenerator(2_000, 0.002, 7);
+		CompactGraph graph = erdosRenyi.toCompactGraph();
+		// about n (n - 1) p = 7996 Edges
+		assertTrue(graph.getEdgeCount() > 7_000 && graph.getEdgeCount() < 9_000);
+		assertEquals(graph.toString(), erdosRenyi.toCompactGraph().toString());
+		assertEquals(20 * 19, new ErdosRenyiGenerator(20, 1, 7).toCompactGraph().getEdgeCount());
+
+		GraphGenerator powerLaw = new PreferentialAttachmentGenerator(2_000, 3, 7);
+		StringBuilder edges = new StringBuilder();
+		powerLaw.write(edges);
+		DirectedGraph<Integer> parsed = DirectedGraph.fromString(edges.toString());
+		assertEquals(2_000, parsed.getVertexCount());
+		assertEquals(powerLaw.toCompactGraph().toString(), CompactGraph.fromGraph(parsed).toString());
+		assertTrue(parsed.getAllVertices().stream().noneMatch(vertex -> vertex.getAdjacentVertices().contains(vertex)));
+	}
+
+}
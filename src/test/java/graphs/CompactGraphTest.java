@@ -0,0 +1,156 @@
+package graphs;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CompactGraphTest {
+
+	private static ForkJoinPool pool;
+
+	@BeforeAll
+	static void createPool() {
+		pool = new ForkJoinPool(4);
+	}
+
+	@AfterAll
+	static void shutdownPool() {
+		pool.shutdown();
+	}
+
+	@Test
+	void testFromGraph() {
+
+		DirectedGraph<Integer> graph = new DirectedGraph<>();
+		graph.addTrack(7, 3, 5, 7);
+		graph.addEdge(3, 7);
+		graph.addSingleVertex(9);
+
+		CompactGraph compactGraph = CompactGraph.fromGraph(graph);
+
+		assertEquals(4, compactGraph.getVertexCount());
+		assertEquals(4, compactGraph.getEdgeCount());
+		assertEquals(3, compactGraph.getId(0));
+		assertEquals(9, compactGraph.getId(3));
+		assertEquals(-1, compactGraph.indexOf(4));
+		assertArrayEquals(new int[] { 1, 2 }, targetsOf(compactGraph, compactGraph.indexOf(3)));
+		assertEquals(0, compactGraph.getDegree(compactGraph.indexOf(9)));
+		assertTrue(graph.equals(compactGraph.toDirectedGraph()));
+
+	}
+
+	@Test
+	void testFromEdgesRemovesDuplicates() {
+
+		CompactGraph compactGraph = CompactGraph.fromEdges(
+				new int[] { 2, 1, 2, 2 },
+				new int[] { 1, 2, 1, 3 }, 4);
+
+		assertEquals(3, compactGraph.getVertexCount());
+		assertEquals(3, compactGraph.getEdgeCount());
+		assertArrayEquals(new int[] { 0, 2 }, targetsOf(compactGraph, 1));
+
+	}
+
+	@Test
+	void testTransposed() {
+
+		CompactGraph compactGraph = CompactGraph.fromString("{0, 1}\n{1, 2}\n{2, 1}");
+
+		DirectedGraph<Integer> expectedReversedGraph = new DirectedGraph<>();
+		expectedReversedGraph.addEdge(1, 0);
+		expectedReversedGraph.addEdge(1, 2);
+		expectedReversedGraph.addEdge(2, 1);
+
+		assertTrue(expectedReversedGraph.equals(compactGraph.getTransposed().toDirectedGraph()));
+
+	}
+
+	@Test
+	void testGetSubGraph() {
+
+		CompactGraph compactGraph = CompactGraph.fromString("{0, 1}\n{1, 2}\n{2, 3}");
+
+		DirectedGraph<Integer> expectedSubGraph = new DirectedGraph<>();
+		expectedSubGraph.addEdge(1, 2);
+		expectedSubGraph.addEdge(2, 3);
+
+		assertTrue(expectedSubGraph.equals(compactGraph.getSubGraph(new int[] { 1, 2, 3 }).toDirectedGraph()));
+
+	}
+
+	@Test
+	void testFromMappedFile(@TempDir Path directory) throws Exception {
+
+		StringBuilder edges = new StringBuilder();
+		Random random = new Random(42);
+		for (int i = 0; i < 50_000; i++)
+			edges.append(String.format("{%d, %d}%n", random.nextInt(5_000), random.nextInt(5_000)));
+		Path file = directory.resolve("random.txt");
+		Files.writeString(file, edges);
+
+		CompactGraph mappedGraph = CompactGraph.fromMappedFile(file.toString(), pool);
+		assertEquals(CompactGraph.fromFile(file.toString()).toString(), mappedGraph.toString());
+
+	}
+
+	@Test
+	void testSnapshotRoundTrip(@TempDir Path directory) throws Exception {
+
+		CompactGraph compactGraph = CompactGraph.fromFile("testGraphs/kube.txt");
+		Path file = directory.resolve("kube.cgr");
+
+		compactGraph.writeSnapshot(file.toString());
+		CompactGraph mappedGraph = CompactGraph.fromSnapshot(file.toString());
+
+		assertEquals(compactGraph.toString(), mappedGraph.toString());
+		assertEquals(compactGraph.indexOf(17), mappedGraph.indexOf(17));
+		assertTrue(mappedGraph.hasEdge(mappedGraph.indexOf(1), mappedGraph.indexOf(2)));
+		assertEquals(compactGraph.getTransposed().toString(), mappedGraph.getTransposed().toString());
+		assertEquals(compactGraph.getSubGraph(new int[] { 0, 2, 5 }).toString(),
+				mappedGraph.getSubGraph(new int[] { 0, 2, 5 }).toString());
+
+		Path copy = directory.resolve("copy.cgr");
+		mappedGraph.writeSnapshot(copy.toString());
+		assertArrayEquals(Files.readAllBytes(file), Files.readAllBytes(copy));
+
+		Files.write(file, new byte[] { 1, 2, 3, 4 });
+		assertThrows(IOException.class, () -> CompactGraph.fromSnapshot(file.toString()));
+
+	}
+
+	@Test
+	void testCorruptSnapshot(@TempDir Path directory) throws Exception {
+
+		Path file = directory.resolve("corrupt.cgr");
+		CompactGraph.fromString("{1, 2}\n{2, 1}").writeSnapshot(file.toString());
+
+		// header, 2 ids and 3 offsets come before the first target
+		byte[] content = Files.readAllBytes(file);
+		content[9 * Integer.BYTES] = 2;
+		Files.write(file, content);
+
+		assertThrows(IOException.class, () -> CompactGraph.fromSnapshot(file.toString()));
+
+	}
+
+	private int[] targetsOf(CompactGraph graph, int index) {
+		int[] targets = new int[graph.getDegree(index)];
+		for (int edge = graph.getEdgeStart(index); edge < graph.getEdgeEnd(index); edge++)
+			targets[edge - graph.getEdgeStart(index)] = graph.getTarget(edge);
+		return targets;
+	}
+
+}
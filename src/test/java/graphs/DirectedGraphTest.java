@@ -5,9 +5,11 @@ package graphs;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -88,6 +90,68 @@ class DirectedGraphTest {
 
 	}
 
+	@Test
+	void testEqualsIgnoresInsertionOrder() {
+
+		DirectedGraph<Integer> graph = new DirectedGraph<>();
+		graph.addTrack(0, 1, 2, 0);
+		graph.addSingleVertex(5);
+
+		DirectedGraph<Integer> otherGraph = new DirectedGraph<>();
+		otherGraph.addSingleVertex(5);
+		otherGraph.addEdge(2, 0);
+		otherGraph.addEdge(1, 2);
+		otherGraph.addEdge(0, 1);
+
+		assertEquals(graph, otherGraph);
+		assertEquals(graph.hashCode(), otherGraph.hashCode());
+		assertEquals(graph.fingerprint(), otherGraph.fingerprint());
+
+		// same counts, but another isolated Vertex
+		otherGraph.removeVertex(5);
+		otherGraph.addSingleVertex(6);
+		assertFalse(graph.equals(otherGraph));
+	}
+
+	@Test
+	void testFingerprintFollowsChanges() {
+
+		DirectedGraph<Integer> graph = new DirectedGraph<>();
+		graph.addTrack(0, 1, 2, 3, 0, 2);
+		graph.addEdge(3, 3);
+		graph.getVertex(1).append(graph.getVertex(3));
+		graph.removeEdge(0, 1);
+		graph.removeVertex(3);
+
+		DirectedGraph<Integer> expected = new DirectedGraph<>();
+		expected.addSingleVertex(0);
+		expected.addSingleVertex(1);
+		expected.addEdge(1, 2);
+		expected.addEdge(0, 2);
+
+		assertEquals(expected.fingerprint(), graph.fingerprint());
+		assertEquals(expected, graph);
+		assertEquals(graph.fingerprint(), graph.clone().fingerprint());
+		assertFalse(graph.equals(graph.getReversed()));
+	}
+
+	@Test
+	void testEqualsOnLargeGraph() {
+
+		DirectedGraph<Integer> graph = new DirectedGraph<>();
+		DirectedGraph<Integer> otherGraph = new DirectedGraph<>();
+		for (int i = 0; i < 200_000; i++) {
+			graph.addEdge(i, (i + 1) % 200_000);
+			otherGraph.addEdge(199_999 - i, (200_000 - i) % 200_000);
+		}
+
+		// pairwise comparison of the Edges would take hours
+		assertEquals(graph, otherGraph);
+		graph.removeEdge(7, 8);
+		graph.addEdge(8, 7);
+		assertFalse(graph.equals(otherGraph));
+	}
+
 	@Test
 	void testGetSubGraph() {
 
@@ -129,4 +193,151 @@ class DirectedGraphTest {
 
 	}
 
+	@Test
+	void testRemoveVertex() {
+
+		DirectedGraph<Integer> graph = new DirectedGraph<>();
+		graph.addTrack(0, 1, 2, 0);
+		graph.addEdge(1, 1);
+		graph.addEdge(3, 1);
+		graph.enableIncomingIndex();
+
+		graph.removeVertex(1);
+
+		DirectedGraph<Integer> expectedGraph = new DirectedGraph<>();
+		expectedGraph.addEdge(2, 0);
+		expectedGraph.addSingleVertex(3);
+
+		assertTrue(graph.equals(expectedGraph));
+		assertEquals(0, graph.getVertex(0).getDegree());
+		assertEquals(0, graph.getVertex(2).getInDegree());
+		assertEquals(1, graph.getVertex(0).getInDegree());
+		assertEquals(0, graph.getVertex(3).getDegree());
+
+	}
+
+	@Test
+	void testRemoveVertexWithoutIndex() {
+
+		DirectedGraph<Integer> graph = new DirectedGraph<>();
+		graph.addTrack(0, 1, 2, 0);
+		graph.addEdge(1, 1);
+		graph.addEdge(3, 1);
+
+		graph.removeVertex(1);
+
+		DirectedGraph<Integer> expectedGraph = new DirectedGraph<>();
+		expectedGraph.addEdge(2, 0);
+		expectedGraph.addSingleVertex(3);
+
+		assertFalse(graph.hasIncomingIndex());
+		assertTrue(graph.equals(expectedGraph));
+		assertEquals(0, graph.getVertex(3).getDegree());
+
+	}
+
+	@Test
+	void testRemoveLeavesOfHub() {
+
+		DirectedGraph<Integer> graph = new DirectedGraph<>();
+		graph.enableIncomingIndex();
+		for (int leaf = 1; leaf <= 100; leaf++) {
+			graph.addEdge(0, leaf);
+			graph.addEdge(leaf, 0);
+		}
+
+		for (int leaf = 1; leaf <= 100; leaf += 2)
+			graph.removeVertex(leaf);
+		graph.removeEdge(0, 2);
+
+		DirectedGraph<Integer> expectedGraph = new DirectedGraph<>();
+		expectedGraph.addEdge(2, 0);
+		for (int leaf = 4; leaf <= 100; leaf += 2) {
+			expectedGraph.addEdge(0, leaf);
+			expectedGraph.addEdge(leaf, 0);
+		}
+
+		assertTrue(graph.equals(expectedGraph));
+		assertFalse(graph.hasEdge(0, 2));
+		assertTrue(graph.hasEdge(2, 0));
+		assertEquals(49, graph.getVertex(0).getDegree());
+		assertEquals(50, graph.getVertex(0).getInDegree());
+
+	}
+
+	@Test
+	void testGetSubGraphView() {
+
+		DirectedGraph<Integer> graph = new DirectedGraph<>();
+		graph.addTrack(0, 1, 2, 3, 1);
+
+		Set<Integer> idsToKeep = new HashSet<>(Set.of(1, 2, 3, 4));
+		SubGraphView<Integer> view = graph.getSubGraphView(idsToKeep);
+
+		assertEquals(3, view.getVertexCount());
+		assertFalse(view.containsVertex(0));
+		assertEquals(List.of(2), view.getAdjacentIds(1));
+		assertEquals(3, view.getAllEdges().size());
+
+		// the view follows changes of the Graph
+		graph.addEdge(4, 0);
+		graph.addEdge(3, 4);
+		assertEquals(4, view.getVertexCount());
+		assertEquals(4, view.getAllEdges().size());
+
+		DirectedGraph<Integer> expectedSubGraph = new DirectedGraph<>();
+		expectedSubGraph.addTrack(1, 2, 3, 1);
+		expectedSubGraph.addEdge(3, 4);
+
+		DirectedGraph<Integer> subGraph = view.materialize();
+		assertTrue(subGraph.equals(expectedSubGraph));
+		assertTrue(subGraph.getVertex(1) != graph.getVertex(1));
+
+	}
+
+	@Test
+	void testGetReversedView() {
+
+		DirectedGraph<Integer> graph = new DirectedGraph<>();
+		graph.addEdge(0, 1);
+		graph.addEdge(1, 2);
+		graph.addEdge(2, 1);
+		graph.addSingleVertex(3);
+
+		assertThrows(IllegalStateException.class, () -> graph.getReversedView());
+		graph.enableIncomingIndex();
+		GraphView<Integer> view = graph.getReversedView();
+
+		assertEquals(4, view.getVertexCount());
+		assertEquals(List.of(0, 2), view.getAdjacentIds(1));
+		assertEquals(List.of(), view.getAdjacentIds(3));
+
+		DirectedGraph<Integer> expectedReversedGraph = new DirectedGraph<>();
+		expectedReversedGraph.addEdge(1, 0);
+		expectedReversedGraph.addEdge(1, 2);
+		expectedReversedGraph.addEdge(2, 1);
+		expectedReversedGraph.addSingleVertex(3);
+
+		assertTrue(view.materialize().equals(expectedReversedGraph));
+
+	}
+
+	@Test
+	void testReverseKeepsIsolatedVertices() {
+
+		DirectedGraph<Integer> graph = new DirectedGraph<>();
+		graph.addEdge(0, 1);
+		graph.addSingleVertex(2);
+
+		DirectedGraph<Integer> reversedGraph = graph.getReversed();
+
+		assertEquals(3, reversedGraph.getVertexCount());
+		assertEquals(0, reversedGraph.getVertex(2).getDegree());
+		assertTrue(reversedGraph.equals(CompactGraph.transposeOf(graph).toDirectedGraph()));
+		assertFalse(graph.hasIncomingIndex());
+		graph.enableIncomingIndex();
+		assertTrue(reversedGraph.equals(graph.getReversedView().materialize()));
+
+	}
+
 }
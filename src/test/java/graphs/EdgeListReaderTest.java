@@ -0,0 +1,54 @@
+package graphs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class EdgeListReaderTest {
+
+	private static final String EDGES = "{1,2}\n{ 3 ,\t4 } x{5,6 {7, 8}{9,}{10 11}{{12,13}}14,15} {2147483647,0}";
+
+	@Test
+	void testReadSkipsMalformedEdges() {
+
+		List<String> edges = new ArrayList<>();
+		new EdgeListReader((from, to) -> edges.add(from + "-" + to))
+				.read(ByteBuffer.wrap(EDGES.getBytes(StandardCharsets.ISO_8859_1)));
+
+		assertEquals(List.of("1-2", "3-4", "7-8", "12-13", "2147483647-0"), edges);
+
+	}
+
+	@Test
+	void testReadEdgesSplitAcrossBuffers() {
+
+		byte[] bytes = EDGES.getBytes(StandardCharsets.ISO_8859_1);
+
+		for (int split = 0; split <= bytes.length; split++) {
+			List<String> edges = new ArrayList<>();
+			EdgeListReader reader = new EdgeListReader((from, to) -> edges.add(from + "-" + to));
+			reader.read(ByteBuffer.wrap(bytes, 0, split));
+			reader.read(ByteBuffer.wrap(bytes, split, bytes.length - split));
+			assertEquals(5, edges.size(), "split at " + split);
+		}
+
+	}
+
+	@Test
+	void testReadRejectsTooLargeIds() {
+
+		EdgeListReader reader = new EdgeListReader((from, to) -> {
+		});
+
+		assertThrows(NumberFormatException.class,
+				() -> reader.read(ByteBuffer.wrap("{2147483648,1}".getBytes(StandardCharsets.ISO_8859_1))));
+
+	}
+
+}
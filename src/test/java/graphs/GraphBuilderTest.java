@@ -0,0 +1,60 @@
+package graphs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class GraphBuilderTest {
+
+	@Test
+	void testBuildRemovesDuplicates() {
+
+		GraphBuilder builder = new GraphBuilder();
+		builder.addEdge(2, -1);
+		builder.addEdge(-1, 2);
+		builder.addEdge(2, -1);
+		builder.addEdge(2, 3);
+		builder.addVertex(7);
+
+		DirectedGraph<Integer> expectedGraph = new DirectedGraph<>();
+		expectedGraph.addEdge(2, -1);
+		expectedGraph.addEdge(-1, 2);
+		expectedGraph.addEdge(2, 3);
+		expectedGraph.addSingleVertex(7);
+
+		DirectedGraph<Integer> graph = builder.build();
+		assertEquals(3, graph.getAllEdges().size());
+		assertTrue(expectedGraph.equals(graph));
+
+		CompactGraph compactGraph = builder.buildCompactGraph();
+		assertEquals(4, compactGraph.getVertexCount());
+		assertEquals(3, compactGraph.getEdgeCount());
+		assertEquals(-1, compactGraph.getId(0));
+		assertTrue(compactGraph.hasEdge(compactGraph.indexOf(2), compactGraph.indexOf(-1)));
+		assertEquals(0, compactGraph.getDegree(compactGraph.indexOf(7)));
+
+	}
+
+	@Test
+	void testBuildHubVertexInParallel() {
+
+		int degree = 100_000;
+		GraphBuilder builder = new GraphBuilder();
+		builder.setParallelSort(true);
+		for (int i = degree; i > 0; i--) {
+			builder.addEdge(0, i);
+			builder.addEdge(0, i);
+		}
+
+		DirectedGraph<Integer> graph = builder.build();
+		assertEquals(degree, graph.getVertex(0).getDegree());
+		assertEquals(degree + 1, graph.getVertexCount());
+
+		CompactGraph compactGraph = builder.buildCompactGraph();
+		assertEquals(degree, compactGraph.getDegree(0));
+		assertEquals(1, compactGraph.getTarget(0));
+
+	}
+
+}
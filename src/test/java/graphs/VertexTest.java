@@ -41,6 +41,39 @@ class VertexTest {
 		assertEquals(0, to.getAdjacentVertexCount());
 	}
 
+	@Test
+	void testRemoveIndexed() {
+		Vertex<Integer> from = new Vertex<>(0);
+		Vertex<Integer> to1 = new Vertex<>(1);
+		Vertex<Integer> to2 = new Vertex<>(2);
+		Vertex<Integer> to3 = new Vertex<>(3);
+		to1.enableIncomingIndex();
+		to3.enableIncomingIndex();
+		from.append(to1);
+		from.append(to2);
+		from.append(to3);
+		assertTrue(from.remove(to1));
+		assertFalse(from.remove(to1));
+		assertEquals(0, to1.getInDegree());
+		assertEquals(from.findEdgeTo(to3), to3.getIncomingEdges().iterator().next());
+		assertTrue(from.remove(to3.getId()));
+		assertEquals(0, to3.getInDegree());
+		assertEquals(1, from.getAdjacentVertexCount());
+		assertEquals(to2, from.getEdges().get(0).getTo());
+	}
+
+	@Test
+	void testIncomingEdges() {
+		Vertex<Integer> from = new Vertex<>(0);
+		Vertex<Integer> to = new Vertex<>(1);
+		assertThrows(IllegalStateException.class, () -> to.getInDegree());
+		to.enableIncomingIndex();
+		from.append(to);
+		from.append(to);
+		assertEquals(1, to.getInDegree());
+		assertEquals(from, to.getIncomingEdges().iterator().next().getFrom());
+	}
+
 	@Test
 	void testEqualsObjectSuccess() {
 		Vertex<String> vertex1 = new Vertex<>(0, "Something");